@@ -5,12 +5,15 @@ import ch.unisg.studybuddy.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Component
+@ConditionalOnProperty(name = "studybuddy.seed-data", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
@@ -23,6 +26,7 @@ public class DataInitializer implements CommandLineRunner {
     private final TaskRepository taskRepository;
 
     @Override
+    @Transactional // one transaction, so the inserts are sent in JDBC batches
     public void run(String... args) {
         if (studentProfileRepository.count() > 0) {
             log.info("Database already initialized, skipping sample data creation.");
@@ -1,12 +1,19 @@
 package ch.unisg.studybuddy;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * Server push lets views that load their data in the background update the page once it arrives.
+ */
 @SpringBootApplication
-public class StudyBuddyApplication {
+@EnableScheduling
+@Push
+public class StudyBuddyApplication implements AppShellConfigurator {
     public static void main(String[] args) {
         SpringApplication.run(StudyBuddyApplication.class, args);
     }
 }
-
@@ -0,0 +1,22 @@
+package ch.unisg.studybuddy.controller;
+
+import ch.unisg.studybuddy.service.CacheStatisticsService;
+import ch.unisg.studybuddy.service.dto.CacheRegionStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CacheRegionStatistics>> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+}
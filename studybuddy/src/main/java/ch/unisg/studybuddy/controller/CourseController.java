@@ -5,8 +5,11 @@ import ch.unisg.studybuddy.model.CourseNote;
 import ch.unisg.studybuddy.model.CoursePreference;
 import ch.unisg.studybuddy.service.CourseService;
 import ch.unisg.studybuddy.service.TaskService;
+import ch.unisg.studybuddy.service.dto.CourseSummary;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,20 +26,25 @@ public class CourseController {
     private final TaskService taskService;
 
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.findAll());
+    public ResponseEntity<Slice<CourseSummary>> getAllCourses(Pageable pageable) {
+        return ResponseEntity.ok(courseService.findSummaries(pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
-        return courseService.findById(id)
+    public ResponseEntity<CourseSummary> getCourseById(@PathVariable Long id) {
+        return courseService.findSummaryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Course>> getCoursesByStudentId(@PathVariable Long studentId) {
-        return ResponseEntity.ok(courseService.findByStudentProfileId(studentId));
+    public ResponseEntity<Slice<CourseSummary>> getCoursesByStudentId(@PathVariable Long studentId, Pageable pageable) {
+        return ResponseEntity.ok(courseService.findSummariesByStudentProfileId(studentId, pageable));
+    }
+
+    @GetMapping("/student/{studentId}/progress")
+    public ResponseEntity<List<ProgressResult>> getCourseProgressForStudent(@PathVariable Long studentId) {
+        return ResponseEntity.ok(taskService.calculateProgressForStudent(studentId));
     }
 
     @PostMapping("/student/{studentId}")
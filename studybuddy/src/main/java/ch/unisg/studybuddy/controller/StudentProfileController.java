@@ -1,14 +1,18 @@
 package ch.unisg.studybuddy.controller;
 
 import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.service.DashboardService;
 import ch.unisg.studybuddy.service.StudentProfileService;
+import ch.unisg.studybuddy.service.dto.DashboardSnapshot;
+import ch.unisg.studybuddy.service.dto.StudentSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/students")
@@ -16,22 +20,32 @@ import java.util.List;
 public class StudentProfileController {
 
     private final StudentProfileService studentProfileService;
+    private final DashboardService dashboardService;
 
     @GetMapping
-    public ResponseEntity<List<StudentProfile>> getAllStudents() {
-        return ResponseEntity.ok(studentProfileService.findAll());
+    public ResponseEntity<Slice<StudentSummary>> getAllStudents(Pageable pageable) {
+        return ResponseEntity.ok(studentProfileService.findSummaries(pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StudentProfile> getStudentById(@PathVariable Long id) {
-        return studentProfileService.findById(id)
+    public ResponseEntity<StudentSummary> getStudentById(@PathVariable Long id) {
+        return studentProfileService.findSummaryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<DashboardSnapshot> getDashboard(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(dashboardService.getSnapshot(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/email/{email}")
-    public ResponseEntity<StudentProfile> getStudentByEmail(@PathVariable String email) {
-        return studentProfileService.findByEmail(email)
+    public ResponseEntity<StudentSummary> getStudentByEmail(@PathVariable String email) {
+        return studentProfileService.findSummaryByEmail(email)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
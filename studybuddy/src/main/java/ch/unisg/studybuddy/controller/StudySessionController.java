@@ -1,10 +1,18 @@
 package ch.unisg.studybuddy.controller;
 
+import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.service.StudyPlanService;
 import ch.unisg.studybuddy.service.StudySessionService;
 import ch.unisg.studybuddy.service.dto.ClashCheckResult;
+import ch.unisg.studybuddy.service.dto.FreeSlot;
 import ch.unisg.studybuddy.service.dto.LoadCheckResult;
+import ch.unisg.studybuddy.service.dto.SessionValidationResult;
+import ch.unisg.studybuddy.service.dto.StudyPlanResult;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,30 +28,73 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StudySessionController {
 
+    private static final int MAX_KEYSET_LIMIT = 200;
+
     private final StudySessionService studySessionService;
+    private final StudyPlanService studyPlanService;
 
     @GetMapping
-    public ResponseEntity<List<StudySession>> getAllSessions() {
-        return ResponseEntity.ok(studySessionService.findAll());
+    public ResponseEntity<Slice<StudySessionSummary>> getAllSessions(Pageable pageable) {
+        return ResponseEntity.ok(studySessionService.findSummaries(null, pageable));
+    }
+
+    @GetMapping("/by-start-time")
+    public ResponseEntity<List<StudySessionSummary>> getSessionsByStartTime(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStartTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(studySessionService.findByStartTimeAfter(
+                courseId, afterStartTime, afterId, Math.min(limit, MAX_KEYSET_LIMIT)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StudySession> getSessionById(@PathVariable Long id) {
-        return studySessionService.findById(id)
+    public ResponseEntity<StudySessionSummary> getSessionById(@PathVariable Long id) {
+        return studySessionService.findSummaryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<StudySession>> getSessionsByCourseId(@PathVariable Long courseId) {
-        return ResponseEntity.ok(studySessionService.findByCourseId(courseId));
+    public ResponseEntity<Slice<StudySessionSummary>> getSessionsByCourseId(@PathVariable Long courseId, Pageable pageable) {
+        return ResponseEntity.ok(studySessionService.findSummaries(courseId, pageable));
     }
 
     @GetMapping("/student/{studentId}/date/{date}")
-    public ResponseEntity<List<StudySession>> getSessionsByStudentAndDate(
+    public ResponseEntity<List<StudySessionSummary>> getSessionsByStudentAndDate(
             @PathVariable Long studentId,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(studySessionService.findByStudentIdAndDate(studentId, date));
+        return ResponseEntity.ok(studySessionService.findSummariesByStudentIdAndDate(studentId, date));
+    }
+
+    @GetMapping("/student/{studentId}/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @PathVariable Long studentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false, defaultValue = "15") int minDurationMinutes) {
+        try {
+            return ResponseEntity.ok(studySessionService.findFreeSlots(studentId, from, to, minDurationMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/student/{studentId}/plan")
+    public ResponseEntity<StudyPlanResult> getStudyPlan(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate firstDay = from != null ? from : LocalDate.now();
+        LocalDate lastDay = to != null ? to : firstDay.plusWeeks(4);
+        try {
+            return ResponseEntity.ok(studyPlanService.generatePlan(studentId, firstDay, lastDay));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping("/course/{courseId}")
@@ -57,6 +109,18 @@ public class StudySessionController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<StudySession>> createSessions(
+            @RequestParam Long courseId,
+            @RequestBody List<@Valid StudySession> sessions) {
+        try {
+            List<StudySession> created = studySessionService.createSessions(courseId, sessions);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudySession> updateSession(
             @PathVariable Long id,
@@ -68,6 +132,9 @@ public class StudySessionController {
                     existing.setLocation(session.getLocation());
                     existing.setNotes(session.getNotes());
                     existing.setCompleted(session.getCompleted());
+                    existing.setRepeatEveryDays(session.getRepeatEveryDays());
+                    existing.setRepeatUntil(session.getRepeatUntil());
+                    existing.setSkippedDates(session.getSkippedDates());
                     return ResponseEntity.ok(studySessionService.save(existing));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -100,6 +167,8 @@ public class StudySessionController {
                 .id(request.getSessionId())
                 .startTime(request.getStartTime())
                 .durationMinutes(request.getDurationMinutes())
+                .repeatEveryDays(request.getRepeatEveryDays())
+                .repeatUntil(request.getRepeatUntil())
                 .build();
         
         ClashCheckResult result = studySessionService.checkForClashes(
@@ -109,6 +178,42 @@ public class StudySessionController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/check-clash/batch")
+    public ResponseEntity<List<ClashCheckResult>> checkClashBatch(@RequestBody List<ClashCheckRequest> requests) {
+        List<StudySession> proposedSessions = requests.stream()
+                .map(request -> StudySession.builder()
+                        .id(request.getSessionId())
+                        .course(Course.builder().id(request.getCourseId()).build())
+                        .startTime(request.getStartTime())
+                        .durationMinutes(request.getDurationMinutes())
+                        .repeatEveryDays(request.getRepeatEveryDays())
+                        .repeatUntil(request.getRepeatUntil())
+                        .build())
+                .toList();
+        
+        try {
+            return ResponseEntity.ok(studySessionService.checkForClashes(proposedSessions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/validate")
+    public ResponseEntity<SessionValidationResult> validateSession(@RequestBody ClashCheckRequest request) {
+        StudySession proposedSession = StudySession.builder()
+                .id(request.getSessionId())
+                .startTime(request.getStartTime())
+                .durationMinutes(request.getDurationMinutes())
+                .repeatEveryDays(request.getRepeatEveryDays())
+                .repeatUntil(request.getRepeatUntil())
+                .build();
+        
+        try {
+            return ResponseEntity.ok(studySessionService.validateSession(request.getCourseId(), proposedSession));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
 
     @lombok.Data
@@ -123,8 +228,11 @@ public class StudySessionController {
     public static class ClashCheckRequest {
         private Long courseId;
         private Long sessionId;
-        private java.time.LocalDateTime startTime;
+        private LocalDateTime startTime;
         private int durationMinutes;
+        private Integer repeatEveryDays;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate repeatUntil;
     }
 }
 
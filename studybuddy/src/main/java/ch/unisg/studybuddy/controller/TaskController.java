@@ -2,13 +2,19 @@ package ch.unisg.studybuddy.controller;
 
 import ch.unisg.studybuddy.model.Task;
 import ch.unisg.studybuddy.service.TaskService;
+import ch.unisg.studybuddy.service.dto.BulkCompletionResult;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,45 +22,71 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final int MAX_KEYSET_LIMIT = 200;
+    // The priority page is read as the first offset + limit rows, so the offset is bounded as well
+    private static final int MAX_PRIORITY_OFFSET = 10_000;
+
     private final TaskService taskService;
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<Slice<TaskSummary>> getAllTasks(
             @RequestParam(required = false) Long courseId,
-            @RequestParam(required = false, defaultValue = "false") boolean ordered) {
+            @RequestParam(required = false, defaultValue = "false") boolean ordered,
+            Pageable pageable) {
         
         if (ordered) {
-            return ResponseEntity.ok(taskService.getTasksByPriority(courseId));
+            return ResponseEntity.ok(taskService.getTaskSummariesByPriority(courseId, pageable));
         }
         
-        if (courseId != null) {
-            return ResponseEntity.ok(taskService.findByCourseId(courseId));
+        return ResponseEntity.ok(taskService.findSummaries(courseId, pageable));
+    }
+
+    @GetMapping("/by-due-date")
+    public ResponseEntity<List<TaskSummary>> getTasksByDueDate(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDueDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
         }
-        
-        return ResponseEntity.ok(taskService.findAll());
+        return ResponseEntity.ok(taskService.findByDueDateAfter(
+                courseId, afterDueDate, afterId, Math.min(limit, MAX_KEYSET_LIMIT)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
-        return taskService.findById(id)
+    public ResponseEntity<TaskSummary> getTaskById(@PathVariable Long id) {
+        return taskService.findSummaryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Task>> getTasksByCourseId(@PathVariable Long courseId) {
-        return ResponseEntity.ok(taskService.findByCourseId(courseId));
+    public ResponseEntity<Slice<TaskSummary>> getTasksByCourseId(@PathVariable Long courseId, Pageable pageable) {
+        return ResponseEntity.ok(taskService.findSummaries(courseId, pageable));
     }
 
     @GetMapping("/prioritized")
-    public ResponseEntity<List<Task>> getTasksByPriority(
-            @RequestParam(required = false) Long courseId) {
-        return ResponseEntity.ok(taskService.getTasksByPriority(courseId));
+    public ResponseEntity<List<TaskSummary>> getTasksByPriority(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam int limit,
+            @RequestParam(required = false, defaultValue = "0") int offset) {
+        if (limit < 1 || offset < 0 || offset > MAX_PRIORITY_OFFSET) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.getTopTaskSummariesByPriority(
+                courseId, Math.min(limit, MAX_KEYSET_LIMIT), offset));
     }
 
     @GetMapping("/student/{studentId}/prioritized")
-    public ResponseEntity<List<Task>> getPendingTasksForStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(taskService.getPendingTasksByStudentPrioritized(studentId));
+    public ResponseEntity<List<TaskSummary>> getPendingTasksForStudent(
+            @PathVariable Long studentId,
+            @RequestParam int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.getTopTaskSummariesForStudent(
+                studentId, Math.min(limit, MAX_KEYSET_LIMIT)));
     }
 
     @PostMapping("/course/{courseId}")
@@ -69,6 +101,18 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<Task>> createTasks(
+            @RequestParam Long courseId,
+            @RequestBody List<@Valid Task> tasks) {
+        try {
+            List<Task> created = taskService.createTasks(courseId, tasks);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable Long id,
@@ -86,6 +130,22 @@ public class TaskController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("/complete")
+    public ResponseEntity<BulkCompletionResult> setTasksCompleted(@RequestBody TaskCompletionRequest request) {
+        // Tasks are selected either by ID or by filter, never both
+        if (request.getTaskIds() != null && (request.getCourseId() != null || request.getDueBefore() != null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            BulkCompletionResult result = request.getTaskIds() != null
+                    ? taskService.setCompleted(request.getTaskIds(), request.isCompleted())
+                    : taskService.setCompleted(request.getCourseId(), request.getDueBefore(), request.isCompleted());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PatchMapping("/{id}/complete")
     public ResponseEntity<Task> markTaskComplete(@PathVariable Long id) {
         try {
@@ -114,5 +174,12 @@ public class TaskController {
         taskService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    @lombok.Data
+    public static class TaskCompletionRequest {
+        private List<Long> taskIds;
+        private Long courseId;
+        private LocalDate dueBefore;
+        private boolean completed = true;
+    }
+}
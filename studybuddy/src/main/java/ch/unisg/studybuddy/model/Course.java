@@ -4,12 +4,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// Not in the second-level cache: preference and note are inverse one-to-ones that Hibernate selects
+// on every cache hit, so a hit costs two selects where loading the course costs one joined select.
 @Entity
 @Table(name = "courses")
+@BatchSize(size = 25)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +22,8 @@ import java.util.List;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Course title is required")
@@ -34,7 +39,20 @@ public class Course {
     @Column(length = 500)
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Denormalized task counters, maintained by {@code TaskServiceImpl} through atomic
+     * increments. Never written by a regular entity update, so merging a stale course
+     * cannot overwrite them.
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Long taskCount = 0L;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Long completedTaskCount = 0L;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_profile_id")
     @JsonIgnore
     private StudentProfile studentProfile;
@@ -46,10 +64,14 @@ public class Course {
     private CourseNote courseNote;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    @BatchSize(size = 25)
     @Builder.Default
     private List<StudySession> studySessions = new ArrayList<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    @BatchSize(size = 25)
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class CourseNote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_notes_seq")
+    @SequenceGenerator(name = "course_notes_seq", sequenceName = "course_notes_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 5000)
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "course_preferences")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,8 @@ import lombok.*;
 public class CoursePreference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_preferences_seq")
+    @SequenceGenerator(name = "course_preferences_seq", sequenceName = "course_preferences_seq", allocationSize = 50)
     private Long id;
 
     @Min(value = 0, message = "Preferred daily workload must be non-negative")
@@ -0,0 +1,38 @@
+package ch.unisg.studybuddy.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a list of dates as comma-separated ISO dates in a single column.
+ */
+@Converter
+public class LocalDateListConverter implements AttributeConverter<List<LocalDate>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return null;
+        }
+        return dates.stream()
+                .map(LocalDate::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public List<LocalDate> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(column.split(","))
+                .map(String::trim)
+                .map(LocalDate::parse)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
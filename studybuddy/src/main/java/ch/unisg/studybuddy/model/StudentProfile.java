@@ -1,15 +1,19 @@
 package ch.unisg.studybuddy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "student_profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +22,8 @@ import java.util.List;
 public class StudentProfile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_profiles_seq")
+    @SequenceGenerator(name = "student_profiles_seq", sequenceName = "student_profiles_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -37,6 +42,7 @@ public class StudentProfile {
     private String settings;
 
     @OneToMany(mappedBy = "studentProfile", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
     @Builder.Default
     private List<Course> courses = new ArrayList<>();
 
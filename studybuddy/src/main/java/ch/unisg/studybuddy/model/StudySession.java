@@ -6,10 +6,17 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "study_sessions")
+@Table(name = "study_sessions", indexes = {
+        @Index(name = "idx_study_sessions_course_start", columnList = "course_id, start_time, id"),
+        @Index(name = "idx_study_sessions_start", columnList = "start_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +25,8 @@ import java.time.LocalDateTime;
 public class StudySession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_sessions_seq")
+    @SequenceGenerator(name = "study_sessions_seq", sequenceName = "study_sessions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Start time is required")
@@ -39,7 +47,33 @@ public class StudySession {
     @Builder.Default
     private Boolean completed = false;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Repeats the session every this many days, e.g. 7 for a weekly slot; null for a one-off session.
+     * Occurrences are never stored, they are expanded for the queried window only.
+     */
+    @Min(value = 1, message = "Repeat interval must be at least 1 day")
+    private Integer repeatEveryDays;
+
+    /**
+     * Last day on which an occurrence may start; null repeats without end.
+     */
+    private LocalDate repeatUntil;
+
+    /**
+     * Days on which a recurring session does not take place.
+     */
+    @Convert(converter = LocalDateListConverter.class)
+    @Column(length = 2000)
+    @Builder.Default
+    private List<LocalDate> skippedDates = new ArrayList<>();
+
+    /**
+     * Marks an expanded occurrence of a recurring session; it shares the session's ID and is never saved.
+     */
+    @Transient
+    private boolean occurrence;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     @JsonIgnore
     private Course course;
@@ -57,5 +91,58 @@ public class StudySession {
         
         return this.startTime.isBefore(otherEnd) && thisEnd.isAfter(other.startTime);
     }
-}
 
+    public boolean isRecurring() {
+        return repeatEveryDays != null;
+    }
+
+    /**
+     * Returns the occurrences overlapping {@code [from, to)}, ordered by start time: the session itself
+     * for a one-off session, a transient copy per occurrence otherwise. Times are compared in whole
+     * minutes, like the clash checks.
+     */
+    public List<StudySession> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        List<StudySession> occurrences = new ArrayList<>();
+        if (startTime == null || durationMinutes == null) {
+            return occurrences;
+        }
+        LocalDateTime windowStart = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime windowEnd = to.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime firstStart = startTime.truncatedTo(ChronoUnit.MINUTES);
+        
+        if (!isRecurring()) {
+            if (firstStart.isBefore(windowEnd) && firstStart.plusMinutes(durationMinutes).isAfter(windowStart)) {
+                occurrences.add(this);
+            }
+            return occurrences;
+        }
+        
+        // Occurrence k overlaps once firstStart + k * period + duration > windowStart
+        long periodMinutes = repeatEveryDays * 24L * 60;
+        long offsetMinutes = ChronoUnit.MINUTES.between(firstStart, windowStart) - durationMinutes;
+        long first = Math.max(0, Math.floorDiv(offsetMinutes, periodMinutes) + 1);
+        
+        for (LocalDateTime start = startTime.plusDays(first * repeatEveryDays);
+             start.truncatedTo(ChronoUnit.MINUTES).isBefore(windowEnd)
+                     && (repeatUntil == null || !start.toLocalDate().isAfter(repeatUntil));
+             start = start.plusDays(repeatEveryDays)) {
+            if (skippedDates == null || !skippedDates.contains(start.toLocalDate())) {
+                occurrences.add(occurrenceAt(start));
+            }
+        }
+        return occurrences;
+    }
+
+    private StudySession occurrenceAt(LocalDateTime start) {
+        return StudySession.builder()
+                .id(id)
+                .startTime(start)
+                .durationMinutes(durationMinutes)
+                .location(location)
+                .notes(notes)
+                .completed(completed)
+                .course(course)
+                .occurrence(true)
+                .build();
+    }
+}
@@ -11,7 +11,14 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_pending_priority", columnList = "completed, priority_score"),
+        @Index(name = "idx_tasks_course_pending_priority", columnList = "course_id, completed, priority_score"),
+        @Index(name = "idx_tasks_pending_due_date", columnList = "completed, due_date"),
+        @Index(name = "idx_tasks_course_pending_due_date", columnList = "course_id, completed, due_date"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_course_due_date", columnList = "course_id, due_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +27,8 @@ import java.time.temporal.ChronoUnit;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Task title is required")
@@ -48,12 +56,29 @@ public class Task {
     @Builder.Default
     private Boolean completed = false;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Snapshot of {@link #calculatePriorityScore()} so the database can order by it.
+     * Refreshed on every write and re-based once a day by {@code PriorityScoreScheduler}.
+     */
+    @Column(name = "priority_score")
+    private Double priorityScore;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     @JsonIgnore
     private Course course;
 
+    @PrePersist
+    @PreUpdate
+    public void updatePriorityScore() {
+        this.priorityScore = calculatePriorityScore();
+    }
+
     public double calculatePriorityScore() {
+        return priorityScoreOf(dueDate, estimatedEffortHours);
+    }
+
+    public static double priorityScoreOf(LocalDate dueDate, int estimatedEffortHours) {
         double daysWeight = 0;
         
         if (dueDate != null) {
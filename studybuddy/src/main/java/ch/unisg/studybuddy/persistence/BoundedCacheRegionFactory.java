@@ -0,0 +1,77 @@
+package ch.unisg.studybuddy.persistence;
+
+import ch.unisg.studybuddy.service.dto.CacheRegionStatistics;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process second-level cache for Hibernate ({@code hibernate.cache.region.factory_class}).
+ *
+ * Entity and query result regions each keep at most the number of entries set in
+ * {@value #MAX_ENTRIES_SETTING} (default {@value #DEFAULT_MAX_ENTRIES}) and drop the least
+ * recently used one beyond that.
+ * The update timestamps region is never trimmed: a missing timestamp would let the query cache
+ * serve results older than the last write to their tables.
+ */
+public class BoundedCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES_SETTING = "studybuddy.cache.max_entries";
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final Map<String, BoundedStorageAccess> storages = new ConcurrentHashMap<>();
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        maxEntries = ConfigurationHelper.getInt(MAX_ENTRIES_SETTING, configValues, DEFAULT_MAX_ENTRIES);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(BoundedStorageAccess::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Hit, miss, put and eviction counts of every region since startup, by region name.
+     */
+    public List<CacheRegionStatistics> getStatistics() {
+        return storages.values().stream()
+                .map(BoundedStorageAccess::getStatistics)
+                .sorted(Comparator.comparing(CacheRegionStatistics::getRegion))
+                .toList();
+    }
+
+    private BoundedStorageAccess register(String regionName, int capacity) {
+        BoundedStorageAccess storage = new BoundedStorageAccess(regionName, capacity);
+        storages.put(regionName, storage);
+        return storage;
+    }
+}
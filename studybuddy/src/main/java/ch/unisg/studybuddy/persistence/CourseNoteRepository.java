@@ -2,6 +2,8 @@ package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.CourseNote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +11,6 @@ import java.util.Optional;
 @Repository
 public interface CourseNoteRepository extends JpaRepository<CourseNote, Long> {
     
-    Optional<CourseNote> findByCourseId(Long courseId);
+    @Query("SELECT n FROM CourseNote n WHERE n.course.id = :courseId")
+    Optional<CourseNote> findByCourseId(@Param("courseId") Long courseId);
 }
-
@@ -1,7 +1,12 @@
 package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.CoursePreference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +14,11 @@ import java.util.Optional;
 @Repository
 public interface CoursePreferenceRepository extends JpaRepository<CoursePreference, Long> {
     
-    Optional<CoursePreference> findByCourseId(Long courseId);
+    /**
+     * Cached query; it reads the foreign key column only, so writes to courses do not invalidate it.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM CoursePreference p WHERE p.course.id = :courseId")
+    Optional<CoursePreference> findByCourseId(@Param("courseId") Long courseId);
 }
 
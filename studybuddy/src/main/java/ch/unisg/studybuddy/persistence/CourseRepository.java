@@ -1,21 +1,137 @@
 package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.service.dto.CourseSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Preference and note are the inverse sides of one-to-one mappings and cannot be proxied, so
+ * Hibernate would select them course by course; list queries join them through an entity graph.
+ */
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
-    List<Course> findByStudentProfileId(Long studentProfileId);
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"coursePreference", "courseNote"})
+    List<Course> findAll();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"coursePreference", "courseNote"})
+    Slice<Course> findAllBy(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"coursePreference", "courseNote"})
+    @Query("SELECT c FROM Course c WHERE c.studentProfile.id = :studentId")
+    List<Course> findByStudentProfileId(@Param("studentId") Long studentProfileId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"coursePreference", "courseNote"})
+    @Query("SELECT c FROM Course c WHERE c.studentProfile.id = :studentId")
+    Slice<Course> findByStudentProfileId(@Param("studentId") Long studentProfileId, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.CourseSummary(c.id, c.studentProfile.id, c.title, c.term, " +
+           "c.instructor, c.description, c.taskCount, c.completedTaskCount) FROM Course c " +
+           "WHERE c.id = :id")
+    Optional<CourseSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.CourseSummary(c.id, c.studentProfile.id, c.title, c.term, " +
+           "c.instructor, c.description, c.taskCount, c.completedTaskCount) FROM Course c")
+    Slice<CourseSummary> findSummaries(Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.CourseSummary(c.id, c.studentProfile.id, c.title, c.term, " +
+           "c.instructor, c.description, c.taskCount, c.completedTaskCount) FROM Course c " +
+           "WHERE c.studentProfile.id = :studentId")
+    Slice<CourseSummary> findSummariesByStudentProfileId(@Param("studentId") Long studentId, Pageable pageable);
     
     List<Course> findByTerm(String term);
     
     @Query("SELECT c FROM Course c WHERE c.studentProfile.id = :studentId AND c.term = :term")
     List<Course> findByStudentAndTerm(@Param("studentId") Long studentId, @Param("term") String term);
+    
+    /**
+     * Served from the query cache, so writes that only need to know the course exists skip loading it.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Course c WHERE c.id = :id")
+    boolean existsById(@Param("id") Long id);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c.studentProfile.id FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findStudentProfileIdById(@Param("courseId") Long courseId);
+    
+    /**
+     * Reads the last persisted student without flushing, so a pending change of the student is not yet visible.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT c.studentProfile.id FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findPersistedStudentProfileIdById(@Param("courseId") Long courseId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c.id AS courseId, c.studentProfile.id AS studentId, " +
+           "p.preferredDailyWorkloadMinutes AS preferredDailyWorkloadMinutes " +
+           "FROM Course c LEFT JOIN c.coursePreference p WHERE c.id = :courseId")
+    Optional<CourseSchedulingContext> findSchedulingContextById(@Param("courseId") Long courseId);
+    
+    @Query("SELECT c.id AS courseId, c.studentProfile.id AS studentId, " +
+           "p.preferredDailyWorkloadMinutes AS preferredDailyWorkloadMinutes " +
+           "FROM Course c LEFT JOIN c.coursePreference p WHERE c.studentProfile.id = :studentId")
+    List<CourseSchedulingContext> findSchedulingContextsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT c.id AS courseId, c.title AS courseTitle, " +
+           "c.taskCount AS totalTasks, c.completedTaskCount AS completedTasks FROM Course c WHERE c.id = :courseId")
+    Optional<CourseTaskCounts> findTaskCountsById(@Param("courseId") Long courseId);
+    
+    @Query("SELECT c.id AS courseId, c.title AS courseTitle, " +
+           "c.taskCount AS totalTasks, c.completedTaskCount AS completedTasks FROM Course c " +
+           "WHERE c.studentProfile.id = :studentId ORDER BY c.id")
+    List<CourseTaskCounts> findTaskCountsByStudentId(@Param("studentId") Long studentId);
+    
+    /**
+     * Atomic increment of the task counters. Runs as native SQL synchronized with a query space of its
+     * own instead of {@code courses}: a JPQL update would drop every cached course and every cached
+     * course query on each task write. The counters are only read by the uncached projection queries
+     * above, never from a cached course. Callers flush pending course inserts first.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "course_task_counts"))
+    @Query(value = "UPDATE courses SET task_count = task_count + :totalDelta, " +
+                   "completed_task_count = completed_task_count + :completedDelta WHERE id = :courseId",
+           nativeQuery = true)
+    int adjustTaskCounts(@Param("courseId") Long courseId,
+                         @Param("totalDelta") long totalDelta,
+                         @Param("completedDelta") long completedDelta);
+    
+    @Modifying
+    @Query("UPDATE Course c SET " +
+           "c.taskCount = (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id), " +
+           "c.completedTaskCount = (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id AND t.completed = true)")
+    int rebuildTaskCounts();
+    
+    @Modifying
+    @Query("UPDATE Course c SET " +
+           "c.taskCount = (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id), " +
+           "c.completedTaskCount = (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id AND t.completed = true) " +
+           "WHERE c.id IN :courseIds")
+    int rebuildTaskCounts(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT c.id FROM Course c WHERE " +
+           "c.taskCount <> (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id) OR " +
+           "c.completedTaskCount <> (SELECT COUNT(t) FROM Task t WHERE t.course.id = c.id AND t.completed = true)")
+    List<Long> findIdsWithInconsistentTaskCounts();
 }
-
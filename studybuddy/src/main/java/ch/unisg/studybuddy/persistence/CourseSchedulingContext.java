@@ -0,0 +1,16 @@
+package ch.unisg.studybuddy.persistence;
+
+/**
+ * Everything a session check needs to know about a course, fetched in one query.
+ */
+public interface CourseSchedulingContext {
+
+    Long getCourseId();
+
+    Long getStudentId();
+
+    /**
+     * Null when the course has no preference yet.
+     */
+    Integer getPreferredDailyWorkloadMinutes();
+}
@@ -0,0 +1,16 @@
+package ch.unisg.studybuddy.persistence;
+
+/**
+ * Per-course task totals, read from the course's maintained {@code taskCount} and
+ * {@code completedTaskCount} counter columns without touching the tasks table.
+ */
+public interface CourseTaskCounts {
+
+    Long getCourseId();
+
+    String getCourseTitle();
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+}
@@ -0,0 +1,31 @@
+package ch.unisg.studybuddy.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections otherwise,
+ * including outside of any transaction (schema migration and validation at startup).
+ *
+ * The read-only flag is only known once the transaction has started, so this data source has to sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers
+ * fetching the connection to the first statement.
+ */
+class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    ReadOnlyRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,27 @@
+package ch.unisg.studybuddy.persistence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the {@link SchemaMigrator} before JPA starts when {@code studybuddy.schema.migrate} is set,
+ * so Hibernate only validates a schema that is already in place.
+ */
+@Configuration
+@ConditionalOnProperty(name = "studybuddy.schema.migrate", havingValue = "true")
+public class SchemaMigrationConfig {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(DataSource dataSource) {
+        return new SchemaMigrator(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrator() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator");
+    }
+}
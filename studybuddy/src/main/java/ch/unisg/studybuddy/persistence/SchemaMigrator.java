@@ -0,0 +1,154 @@
+package ch.unisg.studybuddy.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Brings the database schema up to date with the versioned scripts in {@code db/migration}.
+ * Scripts are named {@code V<version>__<description>.sql} and applied once each, in version
+ * order; applied versions are recorded in {@code schema_version}. A script is never edited
+ * after release, schema changes go into a new version.
+ *
+ * Each script runs in a transaction together with the update that marks its version applied.
+ * H2 commits DDL statements on its own, though, so a version is recorded as not yet successful
+ * before its script starts. If the script fails, that row stays behind as a dirty marker, and
+ * every later start refuses to migrate until the schema has been repaired and the row deleted.
+ */
+@Slf4j
+public class SchemaMigrator implements InitializingBean {
+
+    private static final String SCRIPT_LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final DataSource dataSource;
+    private final String scriptLocation;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, SCRIPT_LOCATION);
+    }
+
+    SchemaMigrator(DataSource dataSource, String scriptLocation) {
+        this.dataSource = dataSource;
+        this.scriptLocation = scriptLocation;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, IOException {
+        migrate();
+    }
+
+    /**
+     * Applies every script whose version is not yet recorded.
+     *
+     * @return Number of scripts applied
+     * @throws IllegalStateException if a script fails, or an earlier one failed and left the schema dirty
+     */
+    public int migrate() throws SQLException, IOException {
+        List<Migration> migrations = findMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INTEGER NOT NULL PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+                // Versions recorded before the dirty marker existed were all applied completely
+                statement.execute("ALTER TABLE schema_version ADD COLUMN IF NOT EXISTS " +
+                        "success BOOLEAN DEFAULT TRUE NOT NULL");
+            }
+            Set<Integer> applied = findAppliedVersions(connection);
+            
+            int count = 0;
+            for (Migration migration : migrations) {
+                if (applied.contains(migration.version())) {
+                    continue;
+                }
+                log.info("Applying schema version {}: {}", migration.version(), migration.description());
+                apply(connection, migration);
+                count++;
+            }
+            if (!migrations.isEmpty()) {
+                log.info("Schema at version {} ({} script(s) applied)", migrations.get(migrations.size() - 1).version(), count);
+            }
+            return count;
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, success) VALUES (?, ?, FALSE)")) {
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.executeUpdate();
+        }
+        
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script(), StandardCharsets.UTF_8));
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE schema_version SET success = TRUE WHERE version = ?")) {
+                update.setInt(1, migration.version());
+                update.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw new IllegalStateException("Schema version " + migration.version() + " (" + migration.description()
+                    + ") failed and may be partially applied", e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources(scriptLocation)) {
+            Matcher name = SCRIPT_NAME.matcher(script.getFilename() != null ? script.getFilename() : "");
+            if (!name.matches()) {
+                throw new IllegalStateException("Invalid migration script name: " + script.getFilename());
+            }
+            migrations.add(new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), script));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    private static Set<Integer> findAppliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, success FROM schema_version ORDER BY version")) {
+            while (rows.next()) {
+                if (!rows.getBoolean(2)) {
+                    throw new IllegalStateException("Schema version " + rows.getInt(1) + " was left partially "
+                            + "applied by a failed migration; repair the schema and delete its row from "
+                            + "schema_version before starting again");
+                }
+                versions.add(rows.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private record Migration(int version, String description, Resource script) {
+    }
+}
@@ -0,0 +1,25 @@
+package ch.unisg.studybuddy.persistence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Time slot occupied by a study session, without any of its associations.
+ */
+public interface SessionSlot {
+
+    Long getId();
+
+    Long getCourseId();
+
+    LocalDateTime getStartTime();
+
+    Integer getDurationMinutes();
+
+    /**
+     * Null for a one-off session.
+     */
+    Integer getRepeatEveryDays();
+
+    LocalDate getRepeatUntil();
+}
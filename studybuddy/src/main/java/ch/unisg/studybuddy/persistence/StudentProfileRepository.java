@@ -1,16 +1,48 @@
 package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.service.dto.StudentSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentProfileRepository extends JpaRepository<StudentProfile, Long> {
     
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    List<StudentProfile> findAll();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    Slice<StudentProfile> findAllBy(Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudentSummary(s.id, s.name, s.email, s.locale, s.settings) " +
+           "FROM StudentProfile s WHERE s.id = :id")
+    Optional<StudentSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudentSummary(s.id, s.name, s.email, s.locale, s.settings) " +
+           "FROM StudentProfile s WHERE s.email = :email")
+    Optional<StudentSummary> findSummaryByEmail(@Param("email") String email);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudentSummary(s.id, s.name, s.email, s.locale, s.settings) " +
+           "FROM StudentProfile s")
+    Slice<StudentSummary> findSummaries(Pageable pageable);
+    
     Optional<StudentProfile> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MIN(s.id) FROM StudentProfile s")
+    Optional<Long> findFirstId();
+    
     boolean existsByEmail(String email);
 }
 
@@ -1,38 +1,209 @@
 package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Time-based queries return one-off sessions only; recurring sessions are read with the
+ * {@code findSeries...} queries and expanded for the queried window.
+ * 
+ * The course of a session is loaded lazily; queries whose results are shown together with the
+ * course title, such as clash messages, fetch it in the same select through an entity graph,
+ * together with the course preference and note that Hibernate would otherwise select course by course.
+ * 
+ * Listing queries carry the read-only hint. The series queries do not, because the clash and
+ * load checks run them inside writes that may go on to update one of the returned sessions.
+ */
 @Repository
 public interface StudySessionRepository extends JpaRepository<StudySession, Long> {
     
-    List<StudySession> findByCourseId(Long courseId);
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    List<StudySession> findAll();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    Slice<StudySession> findAllBy(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId")
+    List<StudySession> findByCourseId(@Param("courseId") Long courseId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    List<StudySession> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * {@link #findByIdIn} for the clash checks, which run inside writes and so load the sessions
+     * without the read-only hint.
+     */
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.id IN :ids")
+    List<StudySession> findWithCourseByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId")
+    Slice<StudySession> findByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudySessionSummary(s.id, s.course.id, s.startTime, " +
+           "s.durationMinutes, s.location, s.notes, s.completed, s.repeatEveryDays, s.repeatUntil) FROM StudySession s " +
+           "WHERE s.id = :id")
+    Optional<StudySessionSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudySessionSummary(s.id, s.course.id, s.startTime, " +
+           "s.durationMinutes, s.location, s.notes, s.completed, s.repeatEveryDays, s.repeatUntil) FROM StudySession s " +
+           "WHERE s.course.id = :courseId")
+    Slice<StudySessionSummary> findSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudySessionSummary(s.id, s.course.id, s.startTime, " +
+           "s.durationMinutes, s.location, s.notes, s.completed, s.repeatEveryDays, s.repeatUntil) FROM StudySession s")
+    Slice<StudySessionSummary> findSummaries(Pageable pageable);
+    
+    // Keyset pagination by (start time, id): each query is a range of idx_study_sessions_start or
+    // idx_study_sessions_course_start read in index order, so a page costs the same wherever it starts.
+    
+    /**
+     * Sessions starting after (start time, id), or at the time with a greater ID.
+     */
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudySessionSummary(s.id, s.course.id, s.startTime, " +
+           "s.durationMinutes, s.location, s.notes, s.completed, s.repeatEveryDays, s.repeatUntil) FROM StudySession s " +
+           "WHERE s.startTime >= :startTime AND (s.startTime > :startTime OR s.id > :id) " +
+           "ORDER BY s.startTime ASC, s.id ASC")
+    List<StudySessionSummary> findAfterOrderByStartTime(@Param("startTime") LocalDateTime startTime,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.StudySessionSummary(s.id, s.course.id, s.startTime, " +
+           "s.durationMinutes, s.location, s.notes, s.completed, s.repeatEveryDays, s.repeatUntil) FROM StudySession s " +
+           "WHERE s.course.id = :courseId AND s.startTime >= :startTime AND (s.startTime > :startTime OR s.id > :id) " +
+           "ORDER BY s.course.id ASC, s.startTime ASC, s.id ASC")
+    List<StudySessionSummary> findByCourseIdAfterOrderByStartTime(@Param("courseId") Long courseId,
+                                                                  @Param("startTime") LocalDateTime startTime,
+                                                                  @Param("id") Long id,
+                                                                  Pageable pageable);
     
     @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId " +
-           "AND s.startTime >= :startOfDay AND s.startTime < :endOfDay")
+           "AND s.repeatEveryDays IS NULL AND s.startTime >= :startOfDay AND s.startTime < :endOfDay")
     List<StudySession> findByCourseIdAndDate(
             @Param("courseId") Long courseId,
             @Param("startOfDay") LocalDateTime startOfDay,
             @Param("endOfDay") LocalDateTime endOfDay);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
     @Query("SELECT s FROM StudySession s WHERE s.course.studentProfile.id = :studentId " +
-           "AND s.startTime >= :startOfDay AND s.startTime < :endOfDay")
+           "AND s.repeatEveryDays IS NULL AND s.startTime >= :startOfDay AND s.startTime < :endOfDay")
     List<StudySession> findByStudentIdAndDate(
             @Param("studentId") Long studentId,
             @Param("startOfDay") LocalDateTime startOfDay,
             @Param("endOfDay") LocalDateTime endOfDay);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
     @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId " +
-           "AND s.startTime >= :rangeStart AND s.startTime < :rangeEnd")
+           "AND s.repeatEveryDays IS NULL AND s.startTime >= :rangeStart AND s.startTime < :rangeEnd")
     List<StudySession> findByCourseIdAndTimeRange(
             @Param("courseId") Long courseId,
             @Param("rangeStart") LocalDateTime rangeStart,
             @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * One-off sessions of the student that overlap {@code [rangeStart, rangeEnd)}, including those that started earlier.
+     */
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.studentProfile.id = :studentId " +
+           "AND s.repeatEveryDays IS NULL " +
+           "AND s.startTime < :rangeEnd AND s.startTime + (s.durationMinutes) minute > :rangeStart")
+    List<StudySession> findByStudentIdOverlappingRange(
+            @Param("studentId") Long studentId,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * One-off sessions of the course that overlap {@code [rangeStart, rangeEnd)}, including those that started earlier.
+     */
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId " +
+           "AND s.repeatEveryDays IS NULL " +
+           "AND s.startTime < :rangeEnd AND s.startTime + (s.durationMinutes) minute > :rangeStart")
+    List<StudySession> findByCourseIdOverlappingRange(
+            @Param("courseId") Long courseId,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * Recurring sessions of the student that may have an occurrence starting between {@code firstDay}
+     * and {@code rangeEnd}; expand them with {@link StudySession#occurrencesBetween}.
+     */
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.studentProfile.id = :studentId " +
+           "AND s.repeatEveryDays IS NOT NULL AND s.startTime < :rangeEnd " +
+           "AND (s.repeatUntil IS NULL OR s.repeatUntil >= :firstDay)")
+    List<StudySession> findSeriesByStudentId(
+            @Param("studentId") Long studentId,
+            @Param("firstDay") LocalDate firstDay,
+            @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * Recurring sessions of the course that may have an occurrence starting between {@code firstDay}
+     * and {@code rangeEnd}; expand them with {@link StudySession#occurrencesBetween}.
+     */
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT s FROM StudySession s WHERE s.course.id = :courseId " +
+           "AND s.repeatEveryDays IS NOT NULL AND s.startTime < :rangeEnd " +
+           "AND (s.repeatUntil IS NULL OR s.repeatUntil >= :firstDay)")
+    List<StudySession> findSeriesByCourseId(
+            @Param("courseId") Long courseId,
+            @Param("firstDay") LocalDate firstDay,
+            @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    @Query("SELECT COALESCE(SUM(s.durationMinutes), 0) FROM StudySession s WHERE s.course.id = :courseId " +
+           "AND s.repeatEveryDays IS NULL AND s.startTime >= :startOfDay AND s.startTime < :endOfDay")
+    long sumDurationByCourseIdAndDate(
+            @Param("courseId") Long courseId,
+            @Param("startOfDay") LocalDateTime startOfDay,
+            @Param("endOfDay") LocalDateTime endOfDay);
+    
+    @Query("SELECT s.id AS id, s.course.id AS courseId, s.startTime AS startTime, s.durationMinutes AS durationMinutes, " +
+           "s.repeatEveryDays AS repeatEveryDays, s.repeatUntil AS repeatUntil " +
+           "FROM StudySession s WHERE s.course.studentProfile.id = :studentId")
+    List<SessionSlot> findSlotsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT s.id AS id, s.course.id AS courseId, s.startTime AS startTime, s.durationMinutes AS durationMinutes, " +
+           "s.repeatEveryDays AS repeatEveryDays, s.repeatUntil AS repeatUntil " +
+           "FROM StudySession s WHERE s.course.studentProfile.id = :studentId " +
+           "AND s.repeatEveryDays IS NULL " +
+           "AND s.startTime < :rangeEnd AND s.startTime + (s.durationMinutes) minute > :rangeStart")
+    List<SessionSlot> findSlotsByStudentIdOverlappingRange(
+            @Param("studentId") Long studentId,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * Reads the last persisted slot without flushing, so pending in-memory edits are not yet visible.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT s.id AS id, s.course.id AS courseId, s.startTime AS startTime, s.durationMinutes AS durationMinutes, " +
+           "s.repeatEveryDays AS repeatEveryDays, s.repeatUntil AS repeatUntil " +
+           "FROM StudySession s WHERE s.id = :id")
+    Optional<SessionSlot> findSlotById(@Param("id") Long id);
 }
-
@@ -0,0 +1,11 @@
+package ch.unisg.studybuddy.persistence;
+
+/**
+ * The persisted course and completion flag of a task, i.e. what the course counters currently account for.
+ */
+public interface TaskCounterState {
+
+    Long getCourseId();
+
+    Boolean getCompleted();
+}
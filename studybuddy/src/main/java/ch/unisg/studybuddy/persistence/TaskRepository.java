@@ -1,27 +1,247 @@
 package ch.unisg.studybuddy.persistence;
 
 import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * The course of a task is loaded lazily; queries whose results are shown together with the
+ * course title fetch it in the same select through an entity graph, together with the course
+ * preference and note that Hibernate would otherwise select course by course.
+ * 
+ * The list queries behind the read endpoints and views load their tasks read-only, so Hibernate
+ * keeps no snapshot for dirty checking even when they run inside a read-write transaction.
+ * Tasks that are going to be changed are loaded with {@link #findById} instead.
+ */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     
-    List<Task> findByCourseId(Long courseId);
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    List<Task> findAll();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    Slice<Task> findAllBy(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT t FROM Task t WHERE t.course.id = :courseId")
+    List<Task> findByCourseId(@Param("courseId") Long courseId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    List<Task> findByIdIn(Collection<Long> ids);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT t FROM Task t WHERE t.course.id = :courseId")
+    Slice<Task> findByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    Slice<Task> findByCompleted(Boolean completed, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    Slice<Task> findByCourseIdAndCompleted(Long courseId, Boolean completed, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.id = :id")
+    Optional<TaskSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.course.id = :courseId")
+    Slice<TaskSummary> findSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t")
+    Slice<TaskSummary> findSummaries(Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.course.id = :courseId AND t.completed = false " +
+           "ORDER BY t.priorityScore DESC, t.id ASC")
+    Slice<TaskSummary> findPendingSummariesByCourseIdOrderByPriority(@Param("courseId") Long courseId,
+                                                                      Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.completed = false ORDER BY t.priorityScore DESC, t.id ASC")
+    Slice<TaskSummary> findPendingSummariesOrderByPriority(Pageable pageable);
     
     List<Task> findByCourseIdAndCompleted(Long courseId, Boolean completed);
     
+    long countByCompleted(Boolean completed);
+    
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
     @Query("SELECT t FROM Task t WHERE t.course.id = :courseId ORDER BY t.dueDate ASC NULLS LAST")
     List<Task> findByCourseIdOrderByDueDate(@Param("courseId") Long courseId);
     
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
     @Query("SELECT t FROM Task t WHERE t.course.studentProfile.id = :studentId AND t.completed = false")
     List<Task> findPendingTasksByStudentId(@Param("studentId") Long studentId);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT t FROM Task t WHERE t.completed = false ORDER BY t.priorityScore DESC, t.id ASC")
+    Slice<Task> findPendingOrderByPriority(Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT t FROM Task t WHERE t.course.id = :courseId AND t.completed = false " +
+           "ORDER BY t.priorityScore DESC, t.id ASC")
+    Slice<Task> findPendingByCourseIdOrderByPriority(@Param("courseId") Long courseId, Pageable pageable);
+    
+    // Keyset pagination by (due date, id), tasks without due date last. Tasks with and without due date
+    // are read by separate queries, each a range of idx_tasks_due_date or idx_tasks_course_due_date read
+    // in index order, so a page costs the same wherever it starts.
+    
+    /**
+     * Tasks due after (due date, id), or on the date with a greater ID.
+     */
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.dueDate >= :dueDate AND (t.dueDate > :dueDate OR t.id > :id) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findDueAfter(@Param("dueDate") LocalDate dueDate, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.course.id = :courseId AND t.dueDate >= :dueDate AND (t.dueDate > :dueDate OR t.id > :id) " +
+           "ORDER BY t.course.id ASC, t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findByCourseIdDueAfter(@Param("courseId") Long courseId,
+                                             @Param("dueDate") LocalDate dueDate,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+    
+    /**
+     * Tasks without due date with an ID greater than the given one.
+     */
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.dueDate IS NULL AND t.id > :id ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findWithoutDueDateAfter(@Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.course.id = :courseId AND t.dueDate IS NULL AND t.id > :id " +
+           "ORDER BY t.course.id ASC, t.dueDate ASC, t.id ASC")
+    List<TaskSummary> findByCourseIdWithoutDueDateAfter(@Param("courseId") Long courseId,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
+    @Query("SELECT t FROM Task t WHERE t.course.studentProfile.id = :studentId AND t.completed = false " +
+           "ORDER BY t.priorityScore DESC, t.id ASC")
+    List<Task> findPendingByStudentIdOrderByPriority(@Param("studentId") Long studentId);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Task t WHERE t.course.studentProfile.id = :studentId AND t.completed = false " +
+           "ORDER BY t.dueDate ASC NULLS LAST, t.priorityScore DESC, t.id ASC")
+    List<Task> findPendingByStudentIdOrderByDueDate(@Param("studentId") Long studentId);
+    
+    @Query("SELECT new ch.unisg.studybuddy.service.dto.TaskSummary(t.id, t.course.id, t.title, t.description, " +
+           "t.taskType, t.dueDate, t.estimatedEffortHours, t.completed, t.priorityScore) FROM Task t " +
+           "WHERE t.course.studentProfile.id = :studentId AND t.completed = false " +
+           "ORDER BY t.priorityScore DESC, t.id ASC")
+    List<TaskSummary> findPendingSummariesByStudentIdOrderByPriority(@Param("studentId") Long studentId,
+                                                                     Pageable pageable);
+    
+    /**
+     * Re-bases every stored priority score on {@code today}; mirrors {@link Task#calculatePriorityScore()}.
+     * A task due within 100 days (or overdue) gets {@code 100 - daysUntilDue}, all others nothing.
+     * Rows whose score is already current are not rewritten, so a repeated run only reads.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priorityScore = t.estimatedEffortHours * 2.0 + " +
+           "CASE WHEN t.dueDate IS NOT NULL AND t.dueDate <= :horizon " +
+           "THEN 100 - ((t.dueDate - :today) BY DAY) ELSE 0 END " +
+           "WHERE t.priorityScore IS NULL OR t.priorityScore <> t.estimatedEffortHours * 2.0 + " +
+           "CASE WHEN t.dueDate IS NOT NULL AND t.dueDate <= :horizon " +
+           "THEN 100 - ((t.dueDate - :today) BY DAY) ELSE 0 END")
+    int refreshPriorityScores(@Param("today") LocalDate today, @Param("horizon") LocalDate horizon);
+    
+    @Query("SELECT DISTINCT t.course.id FROM Task t WHERE t.id IN :ids AND t.completed <> :completed")
+    List<Long> findCourseIdsToComplete(@Param("ids") Collection<Long> ids, @Param("completed") boolean completed);
+    
+    /**
+     * Sets the completion flag of the listed tasks in one statement, skipping tasks already in that state.
+     * 
+     * @return Number of tasks changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed WHERE t.id IN :ids AND t.completed <> :completed")
+    int updateCompleted(@Param("ids") Collection<Long> ids, @Param("completed") boolean completed);
+    
+    @Query("SELECT DISTINCT t.course.id FROM Task t WHERE t.course.id = :courseId " +
+           "AND (CAST(:dueBefore AS LocalDate) IS NULL OR t.dueDate < :dueBefore) AND t.completed <> :completed")
+    List<Long> findCourseIdsToComplete(@Param("courseId") Long courseId,
+                                       @Param("dueBefore") LocalDate dueBefore,
+                                       @Param("completed") boolean completed);
+    
+    /**
+     * Filter variant of {@link #updateCompleted(Collection, boolean)} for the tasks of one course,
+     * optionally only those due before a date.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed WHERE t.course.id = :courseId " +
+           "AND (CAST(:dueBefore AS LocalDate) IS NULL OR t.dueDate < :dueBefore) AND t.completed <> :completed")
+    int updateCompleted(@Param("courseId") Long courseId,
+                        @Param("dueBefore") LocalDate dueBefore,
+                        @Param("completed") boolean completed);
+    
+    @Query("SELECT DISTINCT t.course.id FROM Task t WHERE t.dueDate < :dueBefore AND t.completed <> :completed")
+    List<Long> findCourseIdsDueBeforeToComplete(@Param("dueBefore") LocalDate dueBefore,
+                                                @Param("completed") boolean completed);
+    
+    /**
+     * Filter variant of {@link #updateCompleted(Collection, boolean)} for the tasks of all courses due before a date.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed WHERE t.dueDate < :dueBefore AND t.completed <> :completed")
+    int updateCompletedDueBefore(@Param("dueBefore") LocalDate dueBefore, @Param("completed") boolean completed);
+    
+    /**
+     * Loads a task to change it. The row stays locked until the transaction ends, so a concurrent
+     * write to the same task waits and then reads the changed state.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Reads the last persisted state without flushing, so pending in-memory edits are not yet visible.
+     * Like {@link #findByIdForUpdate} it locks the row, so no concurrent write changes the state the
+     * caller derives its counter adjustment from.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT t.course.id AS courseId, t.completed AS completed FROM Task t WHERE t.id = :id")
+    Optional<TaskCounterState> findCounterStateById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"course", "course.coursePreference", "course.courseNote"})
     @Query("SELECT t FROM Task t WHERE t.dueDate <= :date AND t.completed = false")
     List<Task> findOverdueTasks(@Param("date") LocalDate date);
     
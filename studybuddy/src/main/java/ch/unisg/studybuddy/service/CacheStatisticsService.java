@@ -0,0 +1,15 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.service.dto.CacheRegionStatistics;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+    
+    /**
+     * Hit, miss, put and eviction counts of the second-level and query cache regions since startup.
+     * 
+     * @return One entry per region, ordered by region name; empty when the cache is turned off
+     */
+    List<CacheRegionStatistics> getRegionStatistics();
+}
@@ -0,0 +1,27 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.persistence.BoundedCacheRegionFactory;
+import ch.unisg.studybuddy.service.dto.CacheRegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        return regionFactory instanceof BoundedCacheRegionFactory bounded
+                ? bounded.getStatistics()
+                : List.of();
+    }
+}
@@ -0,0 +1,135 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.persistence.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Passes committed {@link EntityChangedEvent}s on to subscribers such as open views, so a change made
+ * in one browser tab or through the REST API shows up in every other tab.
+ *
+ * Events are collected for the coalesce window ({@code studybuddy.live-updates.coalesce-window}) after
+ * the first one and then delivered as one batch, with duplicates removed, so a burst of writes causes
+ * a single refresh per subscriber. The scheduler only times the window; each batch is resolved and
+ * delivered on an application task executor thread, and subscribers hand it on to their own thread.
+ */
+@Component
+@Slf4j
+public class ChangeBroadcaster {
+
+    private final TaskScheduler scheduler;
+    private final Executor executor;
+    private final CourseRepository courseRepository;
+    private final Duration coalesceWindow;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Set<EntityChangedEvent> pending = new LinkedHashSet<>();
+
+    public ChangeBroadcaster(TaskScheduler scheduler,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                             Executor executor,
+                             CourseRepository courseRepository,
+                             @Value("${studybuddy.live-updates.coalesce-window:250ms}") Duration coalesceWindow) {
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.courseRepository = courseRepository;
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    /**
+     * @param studentId Only deliver changes to this student's data (null for all changes)
+     * @param listener Receives each batch of changes
+     * @return Call to unsubscribe
+     */
+    public Runnable subscribe(Long studentId, Consumer<List<EntityChangedEvent>> listener) {
+        Subscription subscription = new Subscription(studentId, listener);
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                scheduler.schedule(() -> executor.execute(this::flush), Instant.now().plus(coalesceWindow));
+            }
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Delivers the pending changes on the calling thread.
+     */
+    void flush() {
+        List<EntityChangedEvent> batch;
+        synchronized (pending) {
+            batch = List.copyOf(pending);
+            pending.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Course owners are resolved once per batch and only if a subscriber filters by student
+        Map<Long, Optional<Long>> studentByCourse = new HashMap<>();
+        for (Subscription subscription : subscriptions) {
+            List<EntityChangedEvent> changes = new ArrayList<>();
+            for (EntityChangedEvent event : batch) {
+                if (subscription.studentId() == null
+                        || belongsTo(event, subscription.studentId(), studentByCourse)) {
+                    changes.add(event);
+                }
+            }
+            if (!changes.isEmpty()) {
+                deliver(subscription, changes);
+            }
+        }
+    }
+
+    /**
+     * Changes whose student is unknown, because they span all courses or their course is gone, go to everyone.
+     */
+    private boolean belongsTo(EntityChangedEvent event, Long studentId, Map<Long, Optional<Long>> studentByCourse) {
+        if (event.studentId() != null) {
+            return event.studentId().equals(studentId);
+        }
+        if (event.courseId() == null) {
+            return true;
+        }
+        return studentByCourse
+                .computeIfAbsent(event.courseId(), courseRepository::findStudentProfileIdById)
+                .map(studentId::equals)
+                .orElse(true);
+    }
+
+    private void deliver(Subscription subscription, List<EntityChangedEvent> changes) {
+        try {
+            subscription.listener().accept(changes);
+        } catch (RuntimeException e) {
+            log.warn("Could not deliver {} changes to a subscriber", changes.size(), e);
+        }
+    }
+
+    private record Subscription(Long studentId, Consumer<List<EntityChangedEvent>> listener) {
+    }
+}
@@ -0,0 +1,116 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.StudySession;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sort-and-sweep over session intervals that finds every clash of a batch of proposed sessions,
+ * both with existing sessions and among the proposals, in O((n + m) log(n + m) + k).
+ *
+ * Intervals are visited by start time while the ones still running are kept in two queues ordered
+ * by end time, so each arriving interval is only compared with the intervals it really overlaps.
+ * Existing sessions are never compared with each other. Like {@link SessionIntervalIndex}, times
+ * are tracked in whole minutes.
+ */
+final class ClashSweep {
+
+    private ClashSweep() {
+    }
+
+    /**
+     * Returns, for each proposal, the existing sessions and the occurrences of other proposals it
+     * overlaps, each ordered by start time.
+     *
+     * @param proposals Occurrences of each proposed session, a single one unless it recurs; the
+     *                  position in the list identifies the proposal in the result
+     * @param existing Existing sessions, none of which should be one of the proposals
+     */
+    static List<Clashes> findClashes(List<List<StudySession>> proposals, List<StudySession> existing) {
+        List<Clashes> clashes = new ArrayList<>();
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < proposals.size(); i++) {
+            clashes.add(new Clashes(new ArrayList<>(), new ArrayList<>()));
+            for (StudySession occurrence : proposals.get(i)) {
+                addInterval(intervals, occurrence, i);
+            }
+        }
+        for (StudySession session : existing) {
+            addInterval(intervals, session, Interval.EXISTING);
+        }
+        intervals.sort(Comparator.comparing(Interval::start));
+
+        PriorityQueue<Interval> runningExisting = new PriorityQueue<>(Comparator.comparing(Interval::end));
+        PriorityQueue<Interval> runningProposals = new PriorityQueue<>(Comparator.comparing(Interval::end));
+        for (Interval interval : intervals) {
+            dropFinished(runningExisting, interval.start());
+            dropFinished(runningProposals, interval.start());
+
+            for (Interval running : runningProposals) {
+                if (running.proposalIndex() == interval.proposalIndex()) {
+                    continue;
+                }
+                Clashes runningClashes = clashes.get(running.proposalIndex());
+                if (interval.isProposal()) {
+                    runningClashes.proposals().add(interval.session());
+                    clashes.get(interval.proposalIndex()).proposals().add(running.session());
+                } else {
+                    runningClashes.existing().add(interval.session());
+                }
+            }
+            if (interval.isProposal()) {
+                for (Interval running : runningExisting) {
+                    clashes.get(interval.proposalIndex()).existing().add(running.session());
+                }
+                runningProposals.add(interval);
+            } else {
+                runningExisting.add(interval);
+            }
+        }
+
+        for (Clashes proposalClashes : clashes) {
+            proposalClashes.existing().sort(Comparator.comparing(StudySession::getStartTime));
+            proposalClashes.proposals().sort(Comparator.comparing(StudySession::getStartTime));
+        }
+        return clashes;
+    }
+
+    private static void addInterval(List<Interval> intervals, StudySession session, int proposalIndex) {
+        if (session.getStartTime() == null || session.getDurationMinutes() == null
+                || session.getDurationMinutes() <= 0) {
+            return;
+        }
+        LocalDateTime start = session.getStartTime().truncatedTo(ChronoUnit.MINUTES);
+        intervals.add(new Interval(session, proposalIndex, start, start.plusMinutes(session.getDurationMinutes())));
+    }
+
+    private static void dropFinished(PriorityQueue<Interval> running, LocalDateTime now) {
+        while (!running.isEmpty() && !running.peek().end().isAfter(now)) {
+            running.poll();
+        }
+    }
+
+    /**
+     * Clashes of one proposal, with existing sessions and with occurrences of the other proposals.
+     */
+    record Clashes(List<StudySession> existing, List<StudySession> proposals) {
+
+        boolean isEmpty() {
+            return existing.isEmpty() && proposals.isEmpty();
+        }
+    }
+
+    private record Interval(StudySession session, int proposalIndex, LocalDateTime start, LocalDateTime end) {
+
+        static final int EXISTING = -1;
+
+        boolean isProposal() {
+            return proposalIndex != EXISTING;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package ch.unisg.studybuddy.service;
 import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.CourseNote;
 import ch.unisg.studybuddy.model.CoursePreference;
+import ch.unisg.studybuddy.service.dto.CourseSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,10 +14,23 @@ public interface CourseService {
     
     List<Course> findAll();
     
+    Slice<Course> findAll(Pageable pageable);
+    
+    long count();
+    
     Optional<Course> findById(Long id);
     
     List<Course> findByStudentProfileId(Long studentProfileId);
     
+    Slice<Course> findByStudentProfileId(Long studentProfileId, Pageable pageable);
+    
+    // Read model: selected column by column, without loading entities or associations
+    Optional<CourseSummary> findSummaryById(Long id);
+    
+    Slice<CourseSummary> findSummaries(Pageable pageable);
+    
+    Slice<CourseSummary> findSummariesByStudentProfileId(Long studentProfileId, Pageable pageable);
+    
     Course save(Course course);
     
     Course createCourse(Long studentProfileId, Course course);
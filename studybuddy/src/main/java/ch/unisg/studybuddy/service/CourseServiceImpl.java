@@ -8,11 +8,16 @@ import ch.unisg.studybuddy.persistence.CourseNoteRepository;
 import ch.unisg.studybuddy.persistence.CoursePreferenceRepository;
 import ch.unisg.studybuddy.persistence.CourseRepository;
 import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import ch.unisg.studybuddy.service.dto.CourseSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -24,25 +29,86 @@ public class CourseServiceImpl implements CourseService {
     private final StudentProfileRepository studentProfileRepository;
     private final CoursePreferenceRepository coursePreferenceRepository;
     private final CourseNoteRepository courseNoteRepository;
+    private final SessionIntervalIndex sessionIntervalIndex;
+    private final DailyMinutesCache dailyMinutesCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> findAll() {
         return courseRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return courseRepository.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Course> findAll(Pageable pageable) {
+        return courseRepository.findAllBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Course> findById(Long id) {
         return courseRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> findByStudentProfileId(Long studentProfileId) {
         return courseRepository.findByStudentProfileId(studentProfileId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Course> findByStudentProfileId(Long studentProfileId, Pageable pageable) {
+        return courseRepository.findByStudentProfileId(studentProfileId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CourseSummary> findSummaryById(Long id) {
+        return courseRepository.findSummaryById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CourseSummary> findSummaries(Pageable pageable) {
+        return courseRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CourseSummary> findSummariesByStudentProfileId(Long studentProfileId, Pageable pageable) {
+        return courseRepository.findSummariesByStudentProfileId(studentProfileId, pageable);
+    }
+
     @Override
     public Course save(Course course) {
-        return courseRepository.save(course);
+        EntityChangedEvent.Change change = course.getId() == null
+                ? EntityChangedEvent.Change.CREATED
+                : EntityChangedEvent.Change.UPDATED;
+        Long previousStudentId = course.getId() != null
+                ? courseRepository.findPersistedStudentProfileIdById(course.getId()).orElse(null)
+                : null;
+        Course saved = courseRepository.save(course);
+        
+        // The course's sessions move to the new student's slots
+        Long studentId = saved.getStudentProfile() != null ? saved.getStudentProfile().getId() : null;
+        if (change == EntityChangedEvent.Change.UPDATED && !Objects.equals(previousStudentId, studentId)) {
+            if (previousStudentId != null) {
+                sessionIntervalIndex.evict(previousStudentId);
+            }
+            if (studentId != null) {
+                sessionIntervalIndex.evict(studentId);
+            }
+        }
+        publishChange(saved, change);
+        return saved;
     }
 
     @Override
@@ -51,6 +117,8 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + studentProfileId));
         
         course.setStudentProfile(student);
+        course.setTaskCount(0L);
+        course.setCompletedTaskCount(0L);
         
         // Create default preference if not set
         if (course.getCoursePreference() == null) {
@@ -62,15 +130,25 @@ public class CourseServiceImpl implements CourseService {
             course.setCoursePreference(defaultPreference);
         }
         
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        publishChange(saved, EntityChangedEvent.Change.CREATED);
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
+        Long studentId = courseRepository.findStudentProfileIdById(id).orElse(null);
+        if (studentId != null) {
+            sessionIntervalIndex.evict(studentId);
+        }
         courseRepository.deleteById(id);
+        dailyMinutesCache.evictCourse(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class, EntityChangedEvent.Change.DELETED,
+                id, id, studentId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<CoursePreference> findPreferenceByCourseId(Long courseId) {
         return coursePreferenceRepository.findByCourseId(courseId);
     }
@@ -85,6 +163,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<CourseNote> findNoteByCourseId(Long courseId) {
         return courseNoteRepository.findByCourseId(courseId);
     }
@@ -97,5 +176,10 @@ public class CourseServiceImpl implements CourseService {
         note.setCourse(course);
         return courseNoteRepository.save(note);
     }
-}
 
+    private void publishChange(Course course, EntityChangedEvent.Change change) {
+        Long studentId = course.getStudentProfile() != null ? course.getStudentProfile().getId() : null;
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class, change, course.getId(), course.getId(),
+                studentId));
+    }
+}
@@ -0,0 +1,146 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.persistence.StudySessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Planned study minutes per course and day, as used by the daily load check.
+ *
+ * A day is summed in the database once and then served from memory, for at most {@link #MAX_DAYS}
+ * days (least recently used dropped first), so repeated load checks are a map lookup.
+ * A session write made through {@link StudySessionServiceImpl} drops the affected day once its
+ * transaction completes; until then the writing transaction sums that day in the database without
+ * caching it, so other threads never see a total that could still roll back. Writes of recurring
+ * sessions touch an open-ended set of days and drop the whole course instead. A generation counter
+ * keeps days summed concurrently with a completing write from being cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyMinutesCache {
+
+    static final int MAX_DAYS = 10_000;
+
+    private final StudySessionRepository studySessionRepository;
+
+    // Guarded by this cache's monitor
+    private final Map<DayKey, Integer> minutesByDay = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DayKey, Integer> eldest) {
+            return size() > MAX_DAYS;
+        }
+    };
+    private long generation;
+
+    public int getMinutes(Long courseId, LocalDate date) {
+        DayKey key = new DayKey(courseId, date);
+        if (writtenInTransaction(key)) {
+            return sumMinutes(courseId, date);
+        }
+        long summedAt;
+        synchronized (this) {
+            Integer cached = minutesByDay.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            summedAt = generation;
+        }
+
+        int minutes = sumMinutes(courseId, date);
+        synchronized (this) {
+            if (generation == summedAt) {
+                minutesByDay.put(key, minutes);
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * Drops the day after a session on it was written or deleted: now, and again when the surrounding
+     * transaction completes.
+     */
+    public void evict(Long courseId, LocalDate date) {
+        DayKey key = new DayKey(courseId, date);
+        synchronized (this) {
+            generation++;
+            minutesByDay.remove(key);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writesInTransaction().days().add(key);
+        }
+    }
+
+    /**
+     * Drops all days of the course: now, and again when the surrounding transaction completes.
+     */
+    public void evictCourse(Long courseId) {
+        synchronized (this) {
+            generation++;
+            minutesByDay.keySet().removeIf(key -> key.courseId().equals(courseId));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writesInTransaction().courses().add(courseId);
+        }
+    }
+
+    private int sumMinutes(Long courseId, LocalDate date) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+
+        long minutes = studySessionRepository.sumDurationByCourseIdAndDate(courseId, startOfDay, endOfDay);
+        for (StudySession series : studySessionRepository.findSeriesByCourseId(courseId, date, endOfDay)) {
+            for (StudySession occurrence : series.occurrencesBetween(startOfDay, endOfDay)) {
+                if (occurrence.getStartTime().toLocalDate().equals(date)) {
+                    minutes += occurrence.getDurationMinutes();
+                }
+            }
+        }
+        return (int) minutes;
+    }
+
+    private boolean writtenInTransaction(DayKey key) {
+        return TransactionSynchronizationManager.getResource(this) instanceof Writes writes
+                && (writes.courses().contains(key.courseId()) || writes.days().contains(key));
+    }
+
+    /**
+     * Days and courses the current transaction changed, dropped again once it completes.
+     */
+    private Writes writesInTransaction() {
+        if (TransactionSynchronizationManager.getResource(this) instanceof Writes writes) {
+            return writes;
+        }
+        Writes writes = new Writes(new HashSet<>(), new HashSet<>());
+        TransactionSynchronizationManager.bindResource(this, writes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DailyMinutesCache.this);
+                synchronized (DailyMinutesCache.this) {
+                    generation++;
+                    writes.days().forEach(minutesByDay::remove);
+                    if (!writes.courses().isEmpty()) {
+                        minutesByDay.keySet().removeIf(key -> writes.courses().contains(key.courseId()));
+                    }
+                }
+            }
+        });
+        return writes;
+    }
+
+    private record DayKey(Long courseId, LocalDate date) {
+    }
+
+    private record Writes(Set<DayKey> days, Set<Long> courses) {
+    }
+}
@@ -0,0 +1,16 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.service.dto.DashboardSnapshot;
+
+public interface DashboardService {
+    
+    /**
+     * Course count, task totals, course progress, today's sessions and the top priority tasks of a
+     * student. Computed once and then served from memory until a write to the student's courses,
+     * tasks or sessions, or the next day.
+     * 
+     * @param studentId The student ID
+     * @return The student's dashboard snapshot
+     */
+    DashboardSnapshot getSnapshot(Long studentId);
+}
@@ -0,0 +1,128 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.service.dto.DashboardSnapshot;
+import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one {@link DashboardSnapshot} per student in memory, for at most {@link #MAX_SNAPSHOTS}
+ * students (least recently used dropped first). Snapshots of a past day are dropped on lookup.
+ *
+ * A missing snapshot is computed on the calling thread; callers that must not block, such as the
+ * dashboard view, already call this from a background thread. Every
+ * {@link EntityChangedEvent} drops the snapshot it can affect once its transaction commits, found
+ * through the student or an index of the cached courses' owners, and
+ * bumps a generation counter so that a snapshot computed concurrently from the previous state is
+ * returned but not kept.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    static final int PRIORITY_TASKS = 5;
+    static final int MAX_SNAPSHOTS = 1000;
+
+    private final StudentProfileService studentProfileService;
+    private final TaskService taskService;
+    private final StudySessionService studySessionService;
+
+    // Both maps are guarded by this service's monitor
+    private final Map<Long, DashboardSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, DashboardSnapshot> eldest) {
+            if (size() <= MAX_SNAPSHOTS) {
+                return false;
+            }
+            unindex(eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<Long, Long> studentByCourse = new HashMap<>();
+    private long generation;
+
+    @Override
+    public DashboardSnapshot getSnapshot(Long studentId) {
+        LocalDate today = LocalDate.now();
+        long computedAt;
+        synchronized (this) {
+            DashboardSnapshot cached = snapshots.get(studentId);
+            if (cached != null && cached.getDate().equals(today)) {
+                return cached;
+            }
+            remove(studentId);
+            computedAt = generation;
+        }
+
+        DashboardSnapshot snapshot = compute(studentId, today);
+        synchronized (this) {
+            if (generation == computedAt) {
+                snapshots.put(studentId, snapshot);
+                snapshot.getCourseProgress()
+                        .forEach(progress -> studentByCourse.put(progress.getCourseId(), studentId));
+            }
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEntityChanged(EntityChangedEvent event) {
+        generation++;
+        if (event.affectsAll()) {
+            snapshots.clear();
+            studentByCourse.clear();
+            return;
+        }
+        if (event.studentId() != null) {
+            remove(event.studentId());
+        }
+        if (event.courseId() != null) {
+            Long owner = studentByCourse.get(event.courseId());
+            if (owner != null) {
+                remove(owner);
+            }
+        }
+    }
+
+    private void remove(Long studentId) {
+        DashboardSnapshot removed = snapshots.remove(studentId);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+
+    private void unindex(DashboardSnapshot snapshot) {
+        snapshot.getCourseProgress().forEach(progress -> studentByCourse.remove(progress.getCourseId()));
+    }
+
+    private DashboardSnapshot compute(Long studentId, LocalDate today) {
+        if (studentProfileService.findById(studentId).isEmpty()) {
+            throw new IllegalArgumentException("Student not found with id: " + studentId);
+        }
+
+        // Runs inline: fanning out to the shared executor from one of its own threads and joining
+        // would starve the pool once every thread waits for sub-queries queued behind it
+        List<ProgressResult> courseProgress = taskService.calculateProgressForStudent(studentId);
+        List<TaskSummary> priorityTasks = taskService.getTopTaskSummariesForStudent(studentId, PRIORITY_TASKS);
+        int sessionsToday = studySessionService.findByStudentIdAndDate(studentId, today).size();
+
+        return DashboardSnapshot.builder()
+                .studentId(studentId)
+                .date(today)
+                .courseCount(courseProgress.size())
+                .pendingTasks(courseProgress.stream().mapToLong(ProgressResult::getPendingTasks).sum())
+                .completedTasks(courseProgress.stream().mapToLong(ProgressResult::getCompletedTasks).sum())
+                .sessionsToday(sessionsToday)
+                .courseProgress(courseProgress)
+                .priorityTasks(priorityTasks)
+                .build();
+    }
+}
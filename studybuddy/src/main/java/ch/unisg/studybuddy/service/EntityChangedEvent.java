@@ -0,0 +1,57 @@
+package ch.unisg.studybuddy.service;
+
+/**
+ * Published by the services after a write to tasks, study sessions, courses or students, so state
+ * derived from them can be dropped. Listeners act on it once the writing transaction has committed.
+ *
+ * @param entityType The written entity class
+ * @param change Whether the entity was created, updated or deleted
+ * @param entityId ID of the written entity (null if the write touched several entities)
+ * @param courseId Course of the written entities (null if the write is not limited to one course)
+ * @param studentId Student the write belongs to, where the publisher knows it without a query (may be null)
+ */
+public record EntityChangedEvent(Class<?> entityType, Change change, Long entityId, Long courseId, Long studentId) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static EntityChangedEvent created(Class<?> entityType, Long entityId, Long courseId) {
+        return new EntityChangedEvent(entityType, Change.CREATED, entityId, courseId, null);
+    }
+
+    public static EntityChangedEvent updated(Class<?> entityType, Long entityId, Long courseId) {
+        return new EntityChangedEvent(entityType, Change.UPDATED, entityId, courseId, null);
+    }
+
+    public static EntityChangedEvent deleted(Class<?> entityType, Long entityId, Long courseId) {
+        return new EntityChangedEvent(entityType, Change.DELETED, entityId, courseId, null);
+    }
+
+    /**
+     * An update of several entities of a course, such as a bulk completion.
+     */
+    public static EntityChangedEvent ofCourse(Class<?> entityType, Long courseId) {
+        return new EntityChangedEvent(entityType, Change.UPDATED, null, courseId, null);
+    }
+
+    /**
+     * A write that may touch every course, such as a bulk update of all tasks.
+     */
+    public static EntityChangedEvent ofAll(Class<?> entityType) {
+        return new EntityChangedEvent(entityType, Change.UPDATED, null, null, null);
+    }
+
+    public boolean affectsAll() {
+        return courseId == null && studentId == null;
+    }
+
+    /**
+     * Whether the write changed one known entity in place, so views only need to redraw its row.
+     */
+    public boolean isRowUpdate() {
+        return change == Change.UPDATED && entityId != null;
+    }
+}
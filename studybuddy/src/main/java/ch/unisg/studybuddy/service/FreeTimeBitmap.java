@@ -0,0 +1,118 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.service.dto.FreeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Occupancy of a time window as one bit per {@value #SLOT_MINUTES} minutes, {@value #SLOTS_PER_DAY}
+ * bits per day, laid out day after day.
+ *
+ * Marking a session and searching for the next free or busy slot work on whole 64-bit words, so a
+ * week of free windows is found in a handful of word operations instead of pairwise overlap checks.
+ * Occupied time is rounded outwards to slot boundaries and free time inwards, so a reported window
+ * is always really free. Free windows end at midnight.
+ */
+public final class FreeTimeBitmap {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final LocalDate firstDay;
+    private final int slotCount;
+    private final BitSet occupied;
+
+    private FreeTimeBitmap(LocalDate firstDay, int days) {
+        this.firstDay = firstDay;
+        this.slotCount = days * SLOTS_PER_DAY;
+        this.occupied = new BitSet(slotCount);
+    }
+
+    /**
+     * Creates an empty bitmap for {@code [from, to)}; time outside the window counts as occupied.
+     */
+    public static FreeTimeBitmap between(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Time window must end after it starts: " + from + " - " + to);
+        }
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.minusNanos(1).toLocalDate();
+        FreeTimeBitmap bitmap = new FreeTimeBitmap(firstDay, (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1);
+        bitmap.occupied.set(0, bitmap.slotCeiling(from));
+        bitmap.occupied.set(bitmap.slotFloor(to), bitmap.slotCount);
+        return bitmap;
+    }
+
+    /**
+     * Marks {@code [start, start + durationMinutes)} as occupied; parts outside the window are ignored.
+     */
+    public void occupy(LocalDateTime start, int durationMinutes) {
+        int fromSlot = Math.max(0, slotFloor(start));
+        int toSlot = Math.min(slotCount, slotCeiling(start.plusMinutes(durationMinutes)));
+        if (fromSlot < toSlot) {
+            occupied.set(fromSlot, toSlot);
+        }
+    }
+
+    /**
+     * Returns the free windows of at least {@code minDurationMinutes}, ordered by start time.
+     */
+    public List<FreeSlot> freeSlots(int minDurationMinutes) {
+        return freeSlots(0, slotCount, minSlotsOf(minDurationMinutes), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the earliest free window of at least {@code minDurationMinutes} on the given day.
+     */
+    public Optional<FreeSlot> firstFreeSlot(LocalDate day, int minDurationMinutes) {
+        long dayIndex = ChronoUnit.DAYS.between(firstDay, day);
+        if (dayIndex < 0 || dayIndex * SLOTS_PER_DAY >= slotCount) {
+            return Optional.empty();
+        }
+        int fromSlot = (int) dayIndex * SLOTS_PER_DAY;
+        return freeSlots(fromSlot, fromSlot + SLOTS_PER_DAY, minSlotsOf(minDurationMinutes), 1).stream().findFirst();
+    }
+
+    private List<FreeSlot> freeSlots(int fromSlot, int toSlot, int minSlots, int maxResults) {
+        List<FreeSlot> freeSlots = new ArrayList<>();
+        
+        int slot = occupied.nextClearBit(fromSlot);
+        while (slot < toSlot && freeSlots.size() < maxResults) {
+            int endOfDay = (slot / SLOTS_PER_DAY + 1) * SLOTS_PER_DAY;
+            int nextOccupied = occupied.nextSetBit(slot);
+            int end = nextOccupied < 0 ? endOfDay : Math.min(nextOccupied, endOfDay);
+            if (end - slot >= minSlots) {
+                freeSlots.add(FreeSlot.of(timeOf(slot), timeOf(end)));
+            }
+            slot = occupied.nextClearBit(end);
+        }
+        return freeSlots;
+    }
+
+    private static int minSlotsOf(int minDurationMinutes) {
+        return Math.max(1, (minDurationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    private int slotFloor(LocalDateTime time) {
+        return (int) Math.floorDiv(minutesSinceStart(time), SLOT_MINUTES);
+    }
+
+    private int slotCeiling(LocalDateTime time) {
+        return (int) -Math.floorDiv(-minutesSinceStart(time), SLOT_MINUTES);
+    }
+
+    // Whole minutes, like SessionIntervalIndex, so timestamp rounding never shifts a slot
+    private long minutesSinceStart(LocalDateTime time) {
+        return ChronoUnit.MINUTES.between(firstDay.atStartOfDay(), time.truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    private LocalDateTime timeOf(int slot) {
+        return firstDay.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,35 @@
+package ch.unisg.studybuddy.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the persisted task priority scores in line with the current date.
+ * Runs once at startup (the application may have been down over midnight) and after every day rollover.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriorityScoreScheduler {
+
+    private final TaskService taskService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${studybuddy.priority.refresh-cron:0 0 0 * * *}")
+    public void refreshAfterMidnight() {
+        refresh();
+    }
+
+    private void refresh() {
+        int updated = taskService.refreshPriorityScores();
+        log.info("Refreshed priority scores of {} tasks", updated);
+    }
+}
@@ -0,0 +1,235 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.persistence.SessionSlot;
+import ch.unisg.studybuddy.persistence.StudySessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the time slots occupied by each student's study sessions, across all courses.
+ *
+ * One-off slots are kept sorted by start time together with the longest duration seen, so an overlap
+ * query only visits slots starting in {@code (start - longestDuration, end)}. Recurring sessions are
+ * checked one by one, so a query costs O(log n + k + r) for n one-off slots, k visited slots and r
+ * recurring sessions of the student, instead of a database round-trip per check. A student's slots are loaded on first use, for at most
+ * {@link #MAX_STUDENTS} students (least recently used dropped first).
+ * A write to a student's sessions drops their slots once its transaction completes; until then the
+ * writing transaction loads them from the database without caching, so it sees its own writes and
+ * no other thread sees them before the commit. A generation counter keeps slots loaded concurrently
+ * with a completing write from being cached.
+ * Times are tracked in whole minutes, the unit of {@link StudySession#getDurationMinutes()}, so
+ * sub-minute differences from database timestamp rounding never turn adjacent sessions into clashes.
+ * Each recurring session is matched by computing its occurrence nearest to the queried window,
+ * ignoring skipped dates; callers expand the returned series to get the exact occurrences.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionIntervalIndex {
+
+    static final int MAX_STUDENTS = 1000;
+
+    private final StudySessionRepository studySessionRepository;
+
+    // Guarded by this index's monitor
+    private final Map<Long, StudentSlots> slotsByStudent = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, StudentSlots> eldest) {
+            return size() > MAX_STUDENTS;
+        }
+    };
+    private long generation;
+
+    /**
+     * Returns the IDs of the student's sessions overlapping {@code [start, end)}, ordered by start time
+     * of the overlapping occurrence.
+     *
+     * @param excludedSessionId Session to ignore, e.g. the one being edited (may be null)
+     */
+    public List<Long> findOverlapping(Long studentId, LocalDateTime start, LocalDateTime end, Long excludedSessionId) {
+        return slotsFor(studentId).findOverlapping(toMinute(start), toMinute(end), excludedSessionId);
+    }
+
+    /**
+     * Drops the student's slots after their sessions were written or deleted: now, and again when the
+     * surrounding transaction completes.
+     */
+    public void evict(Long studentId) {
+        synchronized (this) {
+            generation++;
+            slotsByStudent.remove(studentId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            studentsWrittenInTransaction().add(studentId);
+        }
+    }
+
+    private StudentSlots slotsFor(Long studentId) {
+        if (writtenInTransaction(studentId)) {
+            return load(studentId);
+        }
+        long loadedAt;
+        synchronized (this) {
+            StudentSlots cached = slotsByStudent.get(studentId);
+            if (cached != null) {
+                return cached;
+            }
+            loadedAt = generation;
+        }
+
+        StudentSlots slots = load(studentId);
+        synchronized (this) {
+            if (generation == loadedAt) {
+                slotsByStudent.put(studentId, slots);
+            }
+        }
+        return slots;
+    }
+
+    private StudentSlots load(Long studentId) {
+        StudentSlots slots = new StudentSlots();
+        for (SessionSlot slot : studySessionRepository.findSlotsByStudentId(studentId)) {
+            slots.put(Slot.of(slot.getId(), slot.getStartTime(), slot.getDurationMinutes(),
+                    slot.getRepeatEveryDays(), slot.getRepeatUntil()));
+        }
+        return slots;
+    }
+
+    private boolean writtenInTransaction(Long studentId) {
+        Object written = TransactionSynchronizationManager.getResource(this);
+        return written instanceof Set<?> students && students.contains(studentId);
+    }
+
+    /**
+     * Students whose sessions the current transaction changed, dropped again once it completes.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> studentsWrittenInTransaction() {
+        Set<Long> written = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (written != null) {
+            return written;
+        }
+        Set<Long> students = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, students);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SessionIntervalIndex.this);
+                synchronized (SessionIntervalIndex.this) {
+                    generation++;
+                    students.forEach(slotsByStudent::remove);
+                }
+            }
+        });
+        return students;
+    }
+
+    private static LocalDateTime toMinute(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private record Slot(Long id, LocalDateTime start, LocalDateTime end, Integer repeatEveryDays, LocalDate repeatUntil) {
+
+        static final Comparator<Slot> BY_START = Comparator.comparing(Slot::start)
+                .thenComparing(Slot::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        static Slot of(Long id, LocalDateTime startTime, int durationMinutes, Integer repeatEveryDays, LocalDate repeatUntil) {
+            LocalDateTime start = toMinute(startTime);
+            return new Slot(id, start, start.plusMinutes(durationMinutes), repeatEveryDays, repeatUntil);
+        }
+
+        static Slot bound(LocalDateTime start) {
+            return new Slot(null, start, null, null, null);
+        }
+
+        long durationMinutes() {
+            return Duration.between(start, end).toMinutes();
+        }
+
+        boolean isRecurring() {
+            return repeatEveryDays != null;
+        }
+
+        /**
+         * Start of the first occurrence ending after {@code start}, or null if none starts before {@code end}.
+         */
+        LocalDateTime firstOccurrenceOverlapping(LocalDateTime start, LocalDateTime end) {
+            long periodMinutes = repeatEveryDays * 24L * 60;
+            long offsetMinutes = Duration.between(this.start, start).toMinutes() - durationMinutes();
+            long occurrence = Math.max(0, Math.floorDiv(offsetMinutes, periodMinutes) + 1);
+            LocalDateTime occurrenceStart = this.start.plusDays(occurrence * repeatEveryDays);
+            
+            boolean withinSeries = repeatUntil == null || !occurrenceStart.toLocalDate().isAfter(repeatUntil);
+            return occurrenceStart.isBefore(end) && withinSeries ? occurrenceStart : null;
+        }
+    }
+
+    private static class StudentSlots {
+
+        private final NavigableSet<Slot> byStart = new TreeSet<>(Slot.BY_START);
+        private final Map<Long, Slot> byId = new HashMap<>();
+        private final Map<Long, Slot> series = new HashMap<>();
+        // Only ever grows; a too-long bound just widens the scanned window a little
+        private long longestDurationMinutes;
+
+        synchronized void put(Slot slot) {
+            remove(slot.id());
+            if (slot.isRecurring()) {
+                series.put(slot.id(), slot);
+                return;
+            }
+            byStart.add(slot);
+            byId.put(slot.id(), slot);
+            longestDurationMinutes = Math.max(longestDurationMinutes, slot.durationMinutes());
+        }
+
+        synchronized void remove(Long sessionId) {
+            series.remove(sessionId);
+            Slot previous = byId.remove(sessionId);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+
+        synchronized List<Long> findOverlapping(LocalDateTime start, LocalDateTime end, Long excludedSessionId) {
+            Slot from = Slot.bound(start.minusMinutes(longestDurationMinutes));
+            Slot to = Slot.bound(end);
+
+            List<Slot> overlapping = new ArrayList<>();
+            for (Slot slot : byStart.subSet(from, false, to, false)) {
+                if (slot.end().isAfter(start) && !slot.id().equals(excludedSessionId)) {
+                    overlapping.add(slot);
+                }
+            }
+            for (Slot slot : series.values()) {
+                LocalDateTime occurrenceStart = slot.firstOccurrenceOverlapping(start, end);
+                if (occurrenceStart != null && !slot.id().equals(excludedSessionId)) {
+                    overlapping.add(Slot.of(slot.id(), occurrenceStart, (int) slot.durationMinutes(), null, null));
+                }
+            }
+            
+            overlapping.sort(Slot.BY_START);
+            return overlapping.stream()
+                    .map(Slot::id)
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ch.unisg.studybuddy.service;
 
 import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.service.dto.StudentSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,10 +12,24 @@ public interface StudentProfileService {
     
     List<StudentProfile> findAll();
     
+    Slice<StudentProfile> findAll(Pageable pageable);
+    
     Optional<StudentProfile> findById(Long id);
     
     Optional<StudentProfile> findByEmail(String email);
     
+    /**
+     * ID of the oldest student profile, the one the views show; served from the query cache.
+     */
+    Optional<Long> findFirstId();
+    
+    // Read model: selected column by column, without loading the courses
+    Optional<StudentSummary> findSummaryById(Long id);
+    
+    Optional<StudentSummary> findSummaryByEmail(String email);
+    
+    Slice<StudentSummary> findSummaries(Pageable pageable);
+    
     StudentProfile save(StudentProfile studentProfile);
     
     void deleteById(Long id);
@@ -2,7 +2,11 @@ package ch.unisg.studybuddy.service;
 
 import ch.unisg.studybuddy.model.StudentProfile;
 import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import ch.unisg.studybuddy.service.dto.StudentSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,22 +19,57 @@ import java.util.Optional;
 public class StudentProfileServiceImpl implements StudentProfileService {
 
     private final StudentProfileRepository studentProfileRepository;
+    private final SessionIntervalIndex sessionIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentProfile> findAll() {
         return studentProfileRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<StudentProfile> findAll(Pageable pageable) {
+        return studentProfileRepository.findAllBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<StudentProfile> findById(Long id) {
         return studentProfileRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<StudentProfile> findByEmail(String email) {
         return studentProfileRepository.findByEmail(email);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findFirstId() {
+        return studentProfileRepository.findFirstId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StudentSummary> findSummaryById(Long id) {
+        return studentProfileRepository.findSummaryById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StudentSummary> findSummaryByEmail(String email) {
+        return studentProfileRepository.findSummaryByEmail(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> findSummaries(Pageable pageable) {
+        return studentProfileRepository.findSummaries(pageable);
+    }
+
     @Override
     public StudentProfile save(StudentProfile studentProfile) {
         return studentProfileRepository.save(studentProfile);
@@ -38,10 +77,14 @@ public class StudentProfileServiceImpl implements StudentProfileService {
 
     @Override
     public void deleteById(Long id) {
+        sessionIntervalIndex.evict(id);
         studentProfileRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(StudentProfile.class, EntityChangedEvent.Change.DELETED,
+                id, null, id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return studentProfileRepository.existsByEmail(email);
     }
@@ -0,0 +1,21 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.service.dto.StudyPlanResult;
+
+import java.time.LocalDate;
+
+public interface StudyPlanService {
+    
+    /**
+     * Proposes study sessions that cover the effort of the student's pending tasks before their due
+     * dates, without clashing with existing sessions or exceeding any course's daily workload.
+     * Nothing is saved; the proposed sessions can be created afterwards like any other session.
+     * 
+     * @param studentId The student ID
+     * @param from First day to plan; today is planned from the current time on
+     * @param to Last day to plan; tasks without due date are planned up to this day
+     * @return The proposed sessions and the tasks that did not fit
+     * @throws IllegalArgumentException if the planned period is empty or longer than a year
+     */
+    StudyPlanResult generatePlan(Long studentId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,187 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.CourseRepository;
+import ch.unisg.studybuddy.persistence.CourseSchedulingContext;
+import ch.unisg.studybuddy.persistence.SessionSlot;
+import ch.unisg.studybuddy.persistence.StudySessionRepository;
+import ch.unisg.studybuddy.persistence.TaskRepository;
+import ch.unisg.studybuddy.service.dto.FreeSlot;
+import ch.unisg.studybuddy.service.dto.StudyPlanResult;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greedy earliest-deadline-first planner.
+ *
+ * Pending tasks are visited by due date and each gets the earliest free slots before its deadline,
+ * within the study hours and the course's daily workload. Free time lives in a
+ * {@link FreeTimeBitmap} and the minutes used per course and day in a map, both updated as
+ * sessions are placed, so no placement is ever re-checked against the database.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyPlanServiceImpl implements StudyPlanService {
+
+    private static final int MAX_PLAN_DAYS = 366;
+
+    private final TaskRepository taskRepository;
+    private final CourseRepository courseRepository;
+    private final StudySessionRepository studySessionRepository;
+
+    @Value("${studybuddy.planner.day-start-hour:8}")
+    private int dayStartHour;
+
+    @Value("${studybuddy.planner.day-end-hour:20}")
+    private int dayEndHour;
+
+    @Value("${studybuddy.planner.max-session-minutes:90}")
+    private int maxSessionMinutes;
+
+    @Value("${studybuddy.planner.time-budget-ms:200}")
+    private long timeBudgetMillis;
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudyPlanResult generatePlan(Long studentId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || from.plusDays(MAX_PLAN_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Plan period must span 1 to " + MAX_PLAN_DAYS + " days: " + from + " - " + to);
+        }
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        
+        PlanningState state = loadPlanningState(studentId, from, to);
+        StudyPlanResult plan = StudyPlanResult.builder().build();
+        
+        List<Task> tasks = taskRepository.findPendingByStudentIdOrderByDueDate(studentId);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (System.nanoTime() > deadlineNanos) {
+                plan.setTimedOut(true);
+                tasks.subList(i, tasks.size()).forEach(task -> markUnplanned(plan, task, effortMinutesOf(task)));
+                break;
+            }
+            Task task = tasks.get(i);
+            int remainingMinutes = planTask(plan, state, task, from, to);
+            if (remainingMinutes > 0) {
+                markUnplanned(plan, task, remainingMinutes);
+            }
+        }
+        
+        plan.getProposedSessions().sort(Comparator.comparing(StudySessionSummary::getStartTime));
+        return plan;
+    }
+
+    private PlanningState loadPlanningState(Long studentId, LocalDate from, LocalDate to) {
+        LocalDateTime periodStart = from.atStartOfDay();
+        LocalDateTime periodEnd = to.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        
+        FreeTimeBitmap freeTime = FreeTimeBitmap.between(now.isAfter(periodStart) ? now : periodStart, periodEnd);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            freeTime.occupy(day.atStartOfDay(), dayStartHour * 60);
+            freeTime.occupy(day.atStartOfDay().plusHours(dayEndHour), (24 - dayEndHour) * 60);
+        }
+        
+        // Sessions earlier today still count towards today's workload
+        Map<DayKey, Integer> usedMinutes = new HashMap<>();
+        for (SessionSlot slot : studySessionRepository.findSlotsByStudentIdOverlappingRange(studentId, periodStart, periodEnd)) {
+            freeTime.occupy(slot.getStartTime(), slot.getDurationMinutes());
+            usedMinutes.merge(new DayKey(slot.getCourseId(), slot.getStartTime().toLocalDate()),
+                    slot.getDurationMinutes(), Integer::sum);
+        }
+        for (StudySession series : studySessionRepository.findSeriesByStudentId(studentId, from.minusDays(1), periodEnd)) {
+            for (StudySession occurrence : series.occurrencesBetween(periodStart, periodEnd)) {
+                freeTime.occupy(occurrence.getStartTime(), occurrence.getDurationMinutes());
+                usedMinutes.merge(new DayKey(series.getCourse().getId(), occurrence.getStartTime().toLocalDate()),
+                        occurrence.getDurationMinutes(), Integer::sum);
+            }
+        }
+        
+        Map<Long, Integer> dailyLimits = new HashMap<>();
+        for (CourseSchedulingContext context : courseRepository.findSchedulingContextsByStudentId(studentId)) {
+            if (context.getPreferredDailyWorkloadMinutes() != null) {
+                dailyLimits.put(context.getCourseId(), context.getPreferredDailyWorkloadMinutes());
+            }
+        }
+        return new PlanningState(freeTime, usedMinutes, dailyLimits);
+    }
+
+    /**
+     * Places sessions for the task on the earliest days with room, returning the minutes that did not fit.
+     */
+    private int planTask(StudyPlanResult plan, PlanningState state, Task task, LocalDate from, LocalDate to) {
+        Course course = task.getCourse();
+        int dailyLimit = state.dailyLimits().getOrDefault(course.getId(), StudySessionServiceImpl.DEFAULT_DAILY_LIMIT_MINUTES);
+        LocalDate lastDay = task.getDueDate() != null && !task.getDueDate().isAfter(to)
+                ? task.getDueDate().minusDays(1)
+                : to;
+        
+        int remainingMinutes = effortMinutesOf(task);
+        for (LocalDate day = from; remainingMinutes > 0 && !day.isAfter(lastDay); day = day.plusDays(1)) {
+            DayKey dayKey = new DayKey(course.getId(), day);
+            int availableMinutes = dailyLimit - state.usedMinutes().getOrDefault(dayKey, 0);
+            
+            while (remainingMinutes > 0) {
+                int wantedMinutes = roundDownToSlot(Math.min(Math.min(remainingMinutes, availableMinutes), maxSessionMinutes));
+                if (wantedMinutes <= 0) {
+                    break;
+                }
+                LocalDate slotDay = day;
+                Optional<FreeSlot> freeSlot = state.freeTime().firstFreeSlot(day, wantedMinutes)
+                        .or(() -> state.freeTime().firstFreeSlot(slotDay, FreeTimeBitmap.SLOT_MINUTES));
+                if (freeSlot.isEmpty()) {
+                    break;
+                }
+                
+                int durationMinutes = Math.min(wantedMinutes, freeSlot.get().getDurationMinutes());
+                plan.getProposedSessions().add(StudySessionSummary.builder()
+                        .courseId(course.getId())
+                        .startTime(freeSlot.get().getStartTime())
+                        .durationMinutes(durationMinutes)
+                        .notes("Study: " + task.getTitle())
+                        .completed(false)
+                        .build());
+                plan.setPlannedMinutes(plan.getPlannedMinutes() + durationMinutes);
+                state.freeTime().occupy(freeSlot.get().getStartTime(), durationMinutes);
+                state.usedMinutes().merge(dayKey, durationMinutes, Integer::sum);
+                remainingMinutes -= durationMinutes;
+                availableMinutes -= durationMinutes;
+            }
+        }
+        return remainingMinutes;
+    }
+
+    private static void markUnplanned(StudyPlanResult plan, Task task, int minutes) {
+        plan.getUnplannedTaskIds().add(task.getId());
+        plan.setUnplannedMinutes(plan.getUnplannedMinutes() + minutes);
+    }
+
+    private static int effortMinutesOf(Task task) {
+        return task.getEstimatedEffortHours() * 60;
+    }
+
+    private static int roundDownToSlot(int minutes) {
+        return minutes / FreeTimeBitmap.SLOT_MINUTES * FreeTimeBitmap.SLOT_MINUTES;
+    }
+
+    private record DayKey(Long courseId, LocalDate date) {
+    }
+
+    private record PlanningState(FreeTimeBitmap freeTime, Map<DayKey, Integer> usedMinutes,
+                                 Map<Long, Integer> dailyLimits) {
+    }
+}
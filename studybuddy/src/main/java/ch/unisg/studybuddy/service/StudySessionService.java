@@ -2,9 +2,16 @@ package ch.unisg.studybuddy.service;
 
 import ch.unisg.studybuddy.model.StudySession;
 import ch.unisg.studybuddy.service.dto.ClashCheckResult;
+import ch.unisg.studybuddy.service.dto.FreeSlot;
 import ch.unisg.studybuddy.service.dto.LoadCheckResult;
+import ch.unisg.studybuddy.service.dto.SessionValidationResult;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,16 +19,71 @@ public interface StudySessionService {
     
     List<StudySession> findAll();
     
+    Slice<StudySession> findAll(Pageable pageable);
+    
     Optional<StudySession> findById(Long id);
     
+    /**
+     * The given sessions with their course in one query; IDs that no longer exist are left out.
+     */
+    List<StudySession> findAllById(Collection<Long> ids);
+    
     List<StudySession> findByCourseId(Long courseId);
     
+    Slice<StudySession> findByCourseId(Long courseId, Pageable pageable);
+    
+    Optional<StudySessionSummary> findSummaryById(Long id);
+    
+    /**
+     * One page of session summaries, read without loading the session entities.
+     * Recurring sessions appear once, at their first occurrence.
+     * 
+     * @param courseId Restricts the sessions to one course (may be null)
+     */
+    Slice<StudySessionSummary> findSummaries(Long courseId, Pageable pageable);
+    
+    /**
+     * Keyset pagination over sessions ordered by start time, then ID. Recurring sessions appear once,
+     * at their first occurrence.
+     * 
+     * @param courseId Restricts the sessions to one course (may be null)
+     * @param afterStartTime Start time of the last session of the previous page (null on the first page)
+     * @param afterId ID of the last session of the previous page (null on the first page)
+     * @param limit Maximum number of sessions to return
+     */
+    List<StudySessionSummary> findByStartTimeAfter(Long courseId, LocalDateTime afterStartTime, Long afterId, int limit);
+    
+    /**
+     * Sessions of the student starting on the given day, including occurrences of recurring sessions.
+     */
     List<StudySession> findByStudentIdAndDate(Long studentId, LocalDate date);
     
+    /**
+     * {@link #findByStudentIdAndDate} as summaries; each occurrence of a recurring session is listed
+     * at its own start time.
+     */
+    List<StudySessionSummary> findSummariesByStudentIdAndDate(Long studentId, LocalDate date);
+    
+    /**
+     * Sessions of the course starting in {@code [rangeStart, rangeEnd)}, including occurrences of
+     * recurring sessions, ordered by start time.
+     */
+    List<StudySession> findByCourseIdAndTimeRange(Long courseId, LocalDateTime rangeStart, LocalDateTime rangeEnd);
+    
     StudySession save(StudySession session);
     
     StudySession createSession(Long courseId, StudySession session);
     
+    /**
+     * Creates many sessions of a course at once, inserting the rows in JDBC batches.
+     * Sessions are not checked for load or clashes; use {@link #checkForClashes} beforehand.
+     * 
+     * @param courseId The course ID
+     * @param sessions New sessions, without IDs
+     * @return The saved sessions in the given order
+     */
+    List<StudySession> createSessions(Long courseId, List<StudySession> sessions);
+    
     void deleteById(Long id);
     
     /**
@@ -37,7 +99,8 @@ public interface StudySessionService {
     
     /**
      * BUSINESS LOGIC 2: Clash Detection
-     * Detects if a proposed session would overlap with existing sessions.
+     * Detects if a proposed session would overlap with existing sessions of the same student,
+     * across all of their courses and across midnight.
      * 
      * @param courseId The course ID
      * @param proposedSession The proposed study session
@@ -45,6 +108,42 @@ public interface StudySessionService {
      */
     ClashCheckResult checkForClashes(Long courseId, StudySession proposedSession);
     
+    /**
+     * Clash detection for a batch of proposed sessions, e.g. a whole week of planned sessions at once.
+     * Each proposal is checked against the existing sessions of its student and against the other
+     * proposals of the same student, with one range query per student instead of one per proposal.
+     * 
+     * @param proposedSessions The proposed study sessions, each referencing its course by ID
+     * @return One ClashCheckResult per proposal, in the same order
+     * @throws IllegalArgumentException if a referenced course does not exist
+     */
+    List<ClashCheckResult> checkForClashes(List<StudySession> proposedSessions);
+    
+    /**
+     * Runs the daily load check and the clash detection for a proposed session in one go,
+     * looking up the course's student and preference only once.
+     * 
+     * @param courseId The course ID
+     * @param proposedSession The proposed study session
+     * @return Both verdicts, with a flag telling whether either produced a warning
+     * @throws IllegalArgumentException if the course does not exist
+     */
+    SessionValidationResult validateSession(Long courseId, StudySession proposedSession);
+    
+    /**
+     * Finds the windows in which the student has no study session in any course, e.g. to see where
+     * a 90-minute session still fits this week. Windows are aligned to
+     * {@value FreeTimeBitmap#SLOT_MINUTES}-minute slots and end at midnight.
+     * 
+     * @param studentId The student ID
+     * @param from Start of the searched window
+     * @param to End of the searched window (exclusive)
+     * @param minDurationMinutes Shortest free window to report
+     * @return Free windows ordered by start time
+     * @throws IllegalArgumentException if the searched window is empty or longer than a year
+     */
+    List<FreeSlot> findFreeSlots(Long studentId, LocalDateTime from, LocalDateTime to, int minDurationMinutes);
+    
     /**
      * Gets total study minutes for a course on a specific date.
      */
@@ -5,10 +5,19 @@ import ch.unisg.studybuddy.model.CoursePreference;
 import ch.unisg.studybuddy.model.StudySession;
 import ch.unisg.studybuddy.persistence.CoursePreferenceRepository;
 import ch.unisg.studybuddy.persistence.CourseRepository;
+import ch.unisg.studybuddy.persistence.CourseSchedulingContext;
+import ch.unisg.studybuddy.persistence.SessionSlot;
 import ch.unisg.studybuddy.persistence.StudySessionRepository;
 import ch.unisg.studybuddy.service.dto.ClashCheckResult;
+import ch.unisg.studybuddy.service.dto.FreeSlot;
 import ch.unisg.studybuddy.service.dto.LoadCheckResult;
+import ch.unisg.studybuddy.service.dto.SessionValidationResult;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,67 +25,311 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class StudySessionServiceImpl implements StudySessionService {
 
+    static final int DEFAULT_DAILY_LIMIT_MINUTES = 120;
+    private static final int MAX_FREE_SLOT_DAYS = 366;
+    private static final int MAX_CHECKED_RECURRENCE_DAYS = 366;
+    // Lower bound of the first keyset page: a range from it keeps a course's first page on the
+    // (course, start time, id) index, where the planner would otherwise sort the course's sessions
+    private static final LocalDateTime EARLIEST_START_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+
     private final StudySessionRepository studySessionRepository;
     private final CourseRepository courseRepository;
     private final CoursePreferenceRepository coursePreferenceRepository;
+    private final SessionIntervalIndex sessionIntervalIndex;
+    private final DailyMinutesCache dailyMinutesCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudySession> findAll() {
         return studySessionRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<StudySession> findAll(Pageable pageable) {
+        return studySessionRepository.findAllBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<StudySession> findById(Long id) {
         return studySessionRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<StudySession> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return studySessionRepository.findByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<StudySession> findByCourseId(Long courseId) {
         return studySessionRepository.findByCourseId(courseId);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<StudySession> findByCourseId(Long courseId, Pageable pageable) {
+        return studySessionRepository.findByCourseId(courseId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StudySessionSummary> findSummaryById(Long id) {
+        return studySessionRepository.findSummaryById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<StudySessionSummary> findSummaries(Long courseId, Pageable pageable) {
+        return courseId != null
+                ? studySessionRepository.findSummariesByCourseId(courseId, pageable)
+                : studySessionRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudySessionSummary> findByStartTimeAfter(Long courseId, LocalDateTime afterStartTime, Long afterId, int limit) {
+        Pageable firstRows = PageRequest.of(0, limit);
+        boolean firstPage = afterStartTime == null || afterId == null;
+        LocalDateTime startTime = firstPage ? EARLIEST_START_TIME : afterStartTime;
+        long id = firstPage ? 0L : afterId;
+        return courseId != null
+                ? studySessionRepository.findByCourseIdAfterOrderByStartTime(courseId, startTime, id, firstRows)
+                : studySessionRepository.findAfterOrderByStartTime(startTime, id, firstRows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<StudySession> findByStudentIdAndDate(Long studentId, LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        return studySessionRepository.findByStudentIdAndDate(studentId, startOfDay, endOfDay);
+        
+        List<StudySession> sessions = new ArrayList<>(
+                studySessionRepository.findByStudentIdAndDate(studentId, startOfDay, endOfDay));
+        sessions.addAll(occurrencesStartingBetween(
+                studySessionRepository.findSeriesByStudentId(studentId, date, endOfDay), startOfDay, endOfDay));
+        sessions.sort(Comparator.comparing(StudySession::getStartTime));
+        return sessions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudySessionSummary> findSummariesByStudentIdAndDate(Long studentId, LocalDate date) {
+        return findByStudentIdAndDate(studentId, date).stream()
+                .map(StudySessionSummary::of)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudySession> findByCourseIdAndTimeRange(Long courseId, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<StudySession> sessions = new ArrayList<>(
+                studySessionRepository.findByCourseIdAndTimeRange(courseId, rangeStart, rangeEnd));
+        sessions.addAll(occurrencesStartingBetween(
+                studySessionRepository.findSeriesByCourseId(courseId, rangeStart.toLocalDate(), rangeEnd),
+                rangeStart, rangeEnd));
+        sessions.sort(Comparator.comparing(StudySession::getStartTime));
+        return sessions;
     }
 
     @Override
     public StudySession save(StudySession session) {
-        return studySessionRepository.save(session);
+        rejectOccurrence(session);
+        SessionSlot previous = session.getId() != null
+                ? studySessionRepository.findSlotById(session.getId()).orElse(null)
+                : null;
+        // Flush so day totals and clash checks read later in this transaction see the row
+        StudySession saved = studySessionRepository.saveAndFlush(session);
+        
+        if (previous != null) {
+            evictDailyMinutes(previous.getCourseId(), previous.getStartTime(), previous.getRepeatEveryDays() != null);
+            if (!previous.getCourseId().equals(saved.getCourse().getId())) {
+                courseRepository.findStudentProfileIdById(previous.getCourseId()).ifPresent(sessionIntervalIndex::evict);
+            }
+            publishChange(EntityChangedEvent.ofCourse(StudySession.class, previous.getCourseId()));
+        }
+        evictDailyMinutes(saved);
+        evictSlots(saved);
+        publishChange(previous == null
+                ? EntityChangedEvent.created(StudySession.class, saved.getId(), saved.getCourse().getId())
+                : EntityChangedEvent.updated(StudySession.class, saved.getId(), saved.getCourse().getId()));
+        return saved;
     }
 
     @Override
     public StudySession createSession(Long courseId, StudySession session) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
+        rejectOccurrence(session);
         
         session.setCourse(course);
-        return studySessionRepository.save(session);
+        // Flush so day totals and clash checks read later in this transaction see the row
+        StudySession saved = studySessionRepository.saveAndFlush(session);
+        evictDailyMinutes(saved);
+        evictSlots(saved);
+        publishChange(EntityChangedEvent.created(StudySession.class, saved.getId(), courseId));
+        return saved;
+    }
+
+    @Override
+    public List<StudySession> createSessions(Long courseId, List<StudySession> sessions) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
+        for (StudySession session : sessions) {
+            rejectOccurrence(session);
+            if (session.getId() != null) {
+                throw new IllegalArgumentException("New session must not have an id: " + session.getId());
+            }
+            session.setCourse(course);
+        }
+        
+        // One flush sends all inserts in JDBC batches
+        List<StudySession> saved = studySessionRepository.saveAll(sessions);
+        studySessionRepository.flush();
+        for (StudySession session : saved) {
+            evictDailyMinutes(session);
+        }
+        saved.stream().findFirst().ifPresent(this::evictSlots);
+        publishChange(EntityChangedEvent.created(StudySession.class, null, courseId));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
-        studySessionRepository.deleteById(id);
+        studySessionRepository.findById(id).ifPresent(session -> {
+            studySessionRepository.delete(session);
+            evictDailyMinutes(session);
+            evictSlots(session);
+            publishChange(EntityChangedEvent.deleted(StudySession.class, id, session.getCourse().getId()));
+        });
     }
 
+    // The load and clash checks stay read-write so they run on the primary: a cache miss fills
+    // DailyMinutesCache or SessionIntervalIndex, whose entries are kept until the next write to the
+    // same data, so they must never be loaded from a replica that lags behind.
     @Override
     public LoadCheckResult checkDailyLoad(Long courseId, LocalDate date, int proposedDurationMinutes) {
         CoursePreference preference = coursePreferenceRepository.findByCourseId(courseId)
                 .orElse(CoursePreference.builder()
-                        .preferredDailyWorkloadMinutes(120)
+                        .preferredDailyWorkloadMinutes(DEFAULT_DAILY_LIMIT_MINUTES)
                         .build());
         
-        int dailyLimit = preference.getPreferredDailyWorkloadMinutes();
+        return buildLoadCheck(courseId, date, proposedDurationMinutes, preference.getPreferredDailyWorkloadMinutes());
+    }
+
+    @Override
+    public ClashCheckResult checkForClashes(Long courseId, StudySession proposedSession) {
+        if (proposedSession.getStartTime() == null || proposedSession.getDurationMinutes() == null) {
+            return ClashCheckResult.noClash();
+        }
+        
+        Long studentId = courseRepository.findStudentProfileIdById(courseId).orElse(null);
+        return buildClashCheck(courseId, studentId, proposedSession);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClashCheckResult> checkForClashes(List<StudySession> proposedSessions) {
+        Set<Long> courseIds = proposedSessions.stream()
+                .map(session -> session.getCourse() != null ? session.getCourse().getId() : null)
+                .collect(Collectors.toSet());
+        if (courseIds.contains(null)) {
+            throw new IllegalArgumentException("Proposed session without course");
+        }
+        Map<Long, Course> coursesById = courseRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        
+        // Students' proposals are swept together; a course without a student only clashes with itself
+        Map<ClashScope, List<Integer>> proposalsByScope = new LinkedHashMap<>();
+        for (int i = 0; i < proposedSessions.size(); i++) {
+            StudySession proposal = proposedSessions.get(i);
+            Long courseId = proposal.getCourse().getId();
+            Course course = coursesById.get(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Course not found with id: " + courseId);
+            }
+            proposal.setCourse(course);
+            proposalsByScope.computeIfAbsent(ClashScope.of(course), scope -> new ArrayList<>()).add(i);
+        }
+        
+        List<ClashCheckResult> results = new ArrayList<>(Collections.nCopies(proposedSessions.size(), null));
+        proposalsByScope.forEach((scope, indexes) -> {
+            List<List<StudySession>> occurrences = indexes.stream()
+                    .map(index -> proposedOccurrencesOf(proposedSessions.get(index)))
+                    .collect(Collectors.toList());
+            List<ClashSweep.Clashes> clashes = ClashSweep.findClashes(occurrences, findExistingSessions(scope, occurrences));
+            for (int i = 0; i < indexes.size(); i++) {
+                ClashSweep.Clashes proposalClashes = clashes.get(i);
+                results.set(indexes.get(i), proposalClashes.isEmpty()
+                        ? ClashCheckResult.noClash()
+                        : ClashCheckResult.withClashes(proposalClashes.existing(), proposalClashes.proposals()));
+            }
+        });
+        return results;
+    }
+
+    @Override
+    public SessionValidationResult validateSession(Long courseId, StudySession proposedSession) {
+        CourseSchedulingContext context = courseRepository.findSchedulingContextById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
+        
+        if (proposedSession.getStartTime() == null || proposedSession.getDurationMinutes() == null) {
+            return SessionValidationResult.of(
+                    LoadCheckResult.ok(0, 0, dailyLimitOf(context)), ClashCheckResult.noClash());
+        }
+        
+        LoadCheckResult loadCheck = buildLoadCheck(courseId, proposedSession.getStartTime().toLocalDate(),
+                proposedSession.getDurationMinutes(), dailyLimitOf(context));
+        ClashCheckResult clashCheck = buildClashCheck(courseId, context.getStudentId(), proposedSession);
+        return SessionValidationResult.of(loadCheck, clashCheck);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeSlot> findFreeSlots(Long studentId, LocalDateTime from, LocalDateTime to, int minDurationMinutes) {
+        if (from.plusDays(MAX_FREE_SLOT_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Time window must not exceed " + MAX_FREE_SLOT_DAYS + " days");
+        }
+        FreeTimeBitmap bitmap = FreeTimeBitmap.between(from, to);
+        for (SessionSlot slot : studySessionRepository.findSlotsByStudentIdOverlappingRange(studentId, from, to)) {
+            bitmap.occupy(slot.getStartTime(), slot.getDurationMinutes());
+        }
+        for (StudySession occurrence : findSeriesOccurrencesForStudent(studentId, from, to)) {
+            bitmap.occupy(occurrence.getStartTime(), occurrence.getDurationMinutes());
+        }
+        return bitmap.freeSlots(minDurationMinutes);
+    }
+
+    @Override
+    public int getTotalMinutesForCourseOnDate(Long courseId, LocalDate date) {
+        return dailyMinutesCache.getMinutes(courseId, date);
+    }
+
+    private LoadCheckResult buildLoadCheck(Long courseId, LocalDate date, int proposedDurationMinutes, int dailyLimit) {
         int currentTotal = getTotalMinutesForCourseOnDate(courseId, date);
         int newTotal = currentTotal + proposedDurationMinutes;
         
@@ -87,18 +340,66 @@ public class StudySessionServiceImpl implements StudySessionService {
         return LoadCheckResult.ok(currentTotal, proposedDurationMinutes, dailyLimit);
     }
 
-    @Override
-    public ClashCheckResult checkForClashes(Long courseId, StudySession proposedSession) {
-        if (proposedSession.getStartTime() == null || proposedSession.getDurationMinutes() == null) {
+    private ClashCheckResult buildClashCheck(Long courseId, Long studentId, StudySession proposedSession) {
+        List<StudySession> clashingSessions = new ArrayList<>();
+        for (StudySession occurrence : proposedOccurrencesOf(proposedSession)) {
+            clashingSessions.addAll(studentId != null
+                    ? findClashesForStudent(studentId, occurrence)
+                    : findClashesWithinCourse(courseId, occurrence));
+        }
+        
+        if (clashingSessions.isEmpty()) {
             return ClashCheckResult.noClash();
         }
         
-        LocalDate sessionDate = proposedSession.getStartTime().toLocalDate();
-        LocalDateTime startOfDay = sessionDate.atStartOfDay();
-        LocalDateTime endOfDay = sessionDate.atTime(LocalTime.MAX);
+        return ClashCheckResult.withClashes(clashingSessions);
+    }
+
+    private static int dailyLimitOf(CourseSchedulingContext context) {
+        return context.getPreferredDailyWorkloadMinutes() != null
+                ? context.getPreferredDailyWorkloadMinutes()
+                : DEFAULT_DAILY_LIMIT_MINUTES;
+    }
+
+    /**
+     * A recurring proposal is checked occurrence by occurrence, up to its last day but at most a year ahead.
+     */
+    private static List<StudySession> proposedOccurrencesOf(StudySession proposedSession) {
+        if (!proposedSession.isRecurring() || proposedSession.getStartTime() == null) {
+            return List.of(proposedSession);
+        }
+        return proposedSession.occurrencesBetween(proposedSession.getStartTime(),
+                proposedSession.getStartTime().plusDays(MAX_CHECKED_RECURRENCE_DAYS));
+    }
+
+    /**
+     * Clashes across all courses of the student, answered by the in-memory interval index.
+     * Only the clashing sessions themselves are loaded from the database; recurring ones are
+     * expanded to the occurrences that really overlap.
+     */
+    private List<StudySession> findClashesForStudent(Long studentId, StudySession proposedSession) {
+        List<Long> clashingIds = sessionIntervalIndex.findOverlapping(studentId,
+                proposedSession.getStartTime(), proposedSession.getEndTime(), proposedSession.getId());
+        if (clashingIds.isEmpty()) {
+            return new ArrayList<>();
+        }
         
-        List<StudySession> existingSessions = studySessionRepository
-                .findByCourseIdAndTimeRange(courseId, startOfDay, endOfDay);
+        Map<Long, StudySession> byId = studySessionRepository.findWithCourseByIdIn(clashingIds).stream()
+                .collect(Collectors.toMap(StudySession::getId, Function.identity()));
+        return clashingIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .flatMap(session -> session.occurrencesBetween(
+                        proposedSession.getStartTime(), proposedSession.getEndTime()).stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fallback for courses without a student: scans the course's sessions around the proposed slot.
+     */
+    private List<StudySession> findClashesWithinCourse(Long courseId, StudySession proposedSession) {
+        LocalDateTime rangeStart = proposedSession.getStartTime().toLocalDate().minusDays(1).atStartOfDay();
+        List<StudySession> existingSessions = findByCourseIdAndTimeRange(courseId, rangeStart, proposedSession.getEndTime());
         
         List<StudySession> clashingSessions = new ArrayList<>();
         for (StudySession existing : existingSessions) {
@@ -109,25 +410,116 @@ public class StudySessionServiceImpl implements StudySessionService {
                 clashingSessions.add(existing);
             }
         }
-        
-        if (clashingSessions.isEmpty()) {
-            return ClashCheckResult.noClash();
+        return clashingSessions;
+    }
+
+    /**
+     * Loads the scope's sessions overlapping the window spanned by the proposals, leaving out the
+     * sessions that are being edited: those are represented by their proposal.
+     */
+    private List<StudySession> findExistingSessions(ClashScope scope, List<List<StudySession>> proposedOccurrences) {
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        Set<Long> proposedIds = new HashSet<>();
+        for (StudySession proposal : proposedOccurrences.stream().flatMap(List::stream).toList()) {
+            if (proposal.getId() != null) {
+                proposedIds.add(proposal.getId());
+            }
+            if (proposal.getStartTime() == null || proposal.getDurationMinutes() == null) {
+                continue;
+            }
+            if (rangeStart == null || proposal.getStartTime().isBefore(rangeStart)) {
+                rangeStart = proposal.getStartTime();
+            }
+            if (rangeEnd == null || proposal.getEndTime().isAfter(rangeEnd)) {
+                rangeEnd = proposal.getEndTime();
+            }
+        }
+        if (rangeStart == null) {
+            return new ArrayList<>();
         }
         
-        return ClashCheckResult.withClashes(clashingSessions);
+        List<StudySession> existingSessions = new ArrayList<>();
+        if (scope.studentId() != null) {
+            existingSessions.addAll(studySessionRepository
+                    .findByStudentIdOverlappingRange(scope.studentId(), rangeStart, rangeEnd));
+            existingSessions.addAll(findSeriesOccurrencesForStudent(scope.studentId(), rangeStart, rangeEnd));
+        } else {
+            existingSessions.addAll(studySessionRepository
+                    .findByCourseIdOverlappingRange(scope.courseId(), rangeStart, rangeEnd));
+            existingSessions.addAll(expandSeries(studySessionRepository.findSeriesByCourseId(
+                    scope.courseId(), rangeStart.toLocalDate().minusDays(1), rangeEnd), rangeStart, rangeEnd));
+        }
+        existingSessions.removeIf(session -> proposedIds.contains(session.getId()));
+        return existingSessions;
     }
 
-    @Override
-    public int getTotalMinutesForCourseOnDate(Long courseId, LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        
-        List<StudySession> sessions = studySessionRepository
-                .findByCourseIdAndDate(courseId, startOfDay, endOfDay);
-        
-        return sessions.stream()
-                .mapToInt(StudySession::getDurationMinutes)
-                .sum();
+    /**
+     * Occurrences of the student's recurring sessions overlapping {@code [from, to)}. Series are read
+     * from the day before, as an occurrence starting then may still run into the window.
+     */
+    private List<StudySession> findSeriesOccurrencesForStudent(Long studentId, LocalDateTime from, LocalDateTime to) {
+        return expandSeries(studySessionRepository.findSeriesByStudentId(
+                studentId, from.toLocalDate().minusDays(1), to), from, to);
+    }
+
+    private static List<StudySession> expandSeries(List<StudySession> series, LocalDateTime from, LocalDateTime to) {
+        return series.stream()
+                .flatMap(session -> session.occurrencesBetween(from, to).stream())
+                .collect(Collectors.toList());
+    }
+
+    private static List<StudySession> occurrencesStartingBetween(List<StudySession> series,
+                                                                 LocalDateTime from, LocalDateTime to) {
+        return expandSeries(series, from, to).stream()
+                .filter(occurrence -> !occurrence.getStartTime().isBefore(from))
+                .collect(Collectors.toList());
+    }
+
+    private static void rejectOccurrence(StudySession session) {
+        if (session.isOccurrence()) {
+            throw new IllegalArgumentException(
+                    "Occurrences cannot be saved individually, edit the recurring session with id: " + session.getId());
+        }
+    }
+
+    private void evictDailyMinutes(StudySession session) {
+        evictDailyMinutes(session.getCourse().getId(), session.getStartTime(), session.isRecurring());
+    }
+
+    private void evictDailyMinutes(Long courseId, LocalDateTime startTime, boolean recurring) {
+        if (recurring) {
+            dailyMinutesCache.evictCourse(courseId);
+        } else if (startTime != null) {
+            dailyMinutesCache.evict(courseId, startTime.toLocalDate());
+        }
+    }
+
+    private void evictSlots(StudySession session) {
+        Long studentId = studentIdOf(session);
+        if (studentId != null) {
+            sessionIntervalIndex.evict(studentId);
+        }
     }
-}
 
+    private void publishChange(EntityChangedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+
+    private static Long studentIdOf(StudySession session) {
+        Course course = session.getCourse();
+        return course != null && course.getStudentProfile() != null ? course.getStudentProfile().getId() : null;
+    }
+
+    /**
+     * The sessions a proposal can clash with: those of the course's student, or of the course alone.
+     */
+    private record ClashScope(Long studentId, Long courseId) {
+
+        static ClashScope of(Course course) {
+            return course.getStudentProfile() != null
+                    ? new ClashScope(course.getStudentProfile().getId(), null)
+                    : new ClashScope(null, course.getId());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ch.unisg.studybuddy.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Guards the denormalized course task counters.
+ * Rebuilds them at startup (seed data is written through the repositories) unless
+ * disabled, and repairs any drift found by the nightly consistency check.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCountReconciler {
+
+    private final TaskService taskService;
+
+    @Value("${studybuddy.task-counts.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!reconcileOnStartup) {
+            return;
+        }
+        int updated = taskService.reconcileTaskCounts();
+        log.info("Rebuilt task counters of {} courses", updated);
+    }
+
+    @Scheduled(cron = "${studybuddy.task-counts.check-cron:0 30 0 * * *}")
+    public void checkConsistency() {
+        List<Long> inconsistent = taskService.findCoursesWithInconsistentTaskCounts();
+        if (inconsistent.isEmpty()) {
+            return;
+        }
+        log.warn("Task counters out of sync for courses {}, rebuilding", inconsistent);
+        taskService.reconcileTaskCounts();
+    }
+}
@@ -1,8 +1,14 @@
 package ch.unisg.studybuddy.service;
 
 import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.service.dto.BulkCompletionResult;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,20 +16,94 @@ public interface TaskService {
     
     List<Task> findAll();
     
+    Slice<Task> findAll(Pageable pageable);
+    
     Optional<Task> findById(Long id);
     
+    /**
+     * The given tasks with their course in one query; IDs that no longer exist are left out.
+     */
+    List<Task> findAllById(Collection<Long> ids);
+    
     List<Task> findByCourseId(Long courseId);
     
+    Slice<Task> findByCourseId(Long courseId, Pageable pageable);
+    
+    /**
+     * One page of tasks with their course, filtered in the database.
+     * 
+     * @param courseId Restricts the tasks to one course (may be null)
+     * @param includeCompleted Whether completed tasks are included
+     */
+    Slice<Task> findTasks(Long courseId, boolean includeCompleted, Pageable pageable);
+    
+    Optional<TaskSummary> findSummaryById(Long id);
+    
+    /**
+     * One page of task summaries, read without loading the task entities.
+     * 
+     * @param courseId Restricts the tasks to one course (may be null)
+     */
+    Slice<TaskSummary> findSummaries(Long courseId, Pageable pageable);
+    
+    /**
+     * Keyset pagination over tasks ordered by due date, tasks without due date last, then ID.
+     * Unlike offset paging the cost of a page does not grow with its position.
+     * 
+     * @param courseId Restricts the tasks to one course (may be null)
+     * @param afterDueDate Due date of the last task of the previous page (null on the first page
+     *                     and after a task without due date)
+     * @param afterId ID of the last task of the previous page (null on the first page)
+     * @param limit Maximum number of tasks to return
+     */
+    List<TaskSummary> findByDueDateAfter(Long courseId, LocalDate afterDueDate, Long afterId, int limit);
+    
+    /**
+     * Number of completed or pending tasks, counted without loading them.
+     */
+    long countByCompleted(boolean completed);
+    
     Task save(Task task);
     
     Task createTask(Long courseId, Task task);
     
+    /**
+     * Creates many tasks of a course at once. The rows are inserted in JDBC batches and the
+     * course's task counters are adjusted once for the whole list.
+     * 
+     * @param courseId The course ID
+     * @param tasks New tasks, without IDs
+     * @return The saved tasks in the given order
+     */
+    List<Task> createTasks(Long courseId, List<Task> tasks);
+    
     void deleteById(Long id);
     
     Task markAsCompleted(Long taskId);
     
     Task markAsIncomplete(Long taskId);
     
+    /**
+     * Marks many tasks complete or incomplete with one UPDATE statement. Tasks already in the
+     * requested state are left alone; the task counters of the affected courses are rebuilt afterwards.
+     * 
+     * @param taskIds IDs of the tasks to change (unknown IDs are ignored)
+     * @param completed The new completion state
+     * @return Number of tasks changed and the courses they belong to
+     */
+    BulkCompletionResult setCompleted(List<Long> taskIds, boolean completed);
+    
+    /**
+     * Filter variant of {@link #setCompleted(List, boolean)}, e.g. all tasks of a course due before a date.
+     * At least one criterion is required.
+     * 
+     * @param courseId Restricts the tasks to one course (may be null)
+     * @param dueBefore Restricts the tasks to those due before this date (may be null)
+     * @param completed The new completion state
+     * @return Number of tasks changed and the courses they belong to
+     */
+    BulkCompletionResult setCompleted(Long courseId, LocalDate dueBefore, boolean completed);
+    
     /**
      * BUSINESS LOGIC 3: Progress Roll-up
      * Aggregates completed tasks per course and computes a completion percentage.
@@ -33,6 +113,29 @@ public interface TaskService {
      */
     ProgressResult calculateProgress(Long courseId);
     
+    /**
+     * Progress roll-up for every course of a student, computed with one grouped query.
+     * 
+     * @param studentId The student ID
+     * @return One ProgressResult per course, ordered by course ID
+     */
+    List<ProgressResult> calculateProgressForStudent(Long studentId);
+    
+    /**
+     * Rebuilds the denormalized task counters of every course from the tasks table.
+     * Needed after tasks were written without going through this service.
+     * 
+     * @return Number of courses updated
+     */
+    int reconcileTaskCounts();
+    
+    /**
+     * Consistency check for the denormalized task counters.
+     * 
+     * @return IDs of courses whose counters differ from the tasks table
+     */
+    List<Long> findCoursesWithInconsistentTaskCounts();
+    
     /**
      * BUSINESS LOGIC 4: Task Prioritization
      * Calculates a priority score based on due date proximity and estimated effort,
@@ -43,6 +146,27 @@ public interface TaskService {
      */
     List<Task> getTasksByPriority(Long courseId);
     
+    /**
+     * One page of the pending tasks in priority order, as summaries.
+     */
+    Slice<TaskSummary> getTaskSummariesByPriority(Long courseId, Pageable pageable);
+    
+    /**
+     * Returns one page of the priority ordering. The stored priority score is indexed,
+     * so the database stops reading after {@code offset + limit} rows.
+     * 
+     * @param courseId The course ID (optional, null for all courses)
+     * @param limit Maximum number of tasks to return
+     * @param offset Number of highest-priority tasks to skip
+     * @return Tasks ordered by priority score (descending)
+     */
+    List<Task> getTopTasksByPriority(Long courseId, int limit, int offset);
+    
+    /**
+     * {@link #getTopTasksByPriority} as summaries, read without loading the task entities.
+     */
+    List<TaskSummary> getTopTaskSummariesByPriority(Long courseId, int limit, int offset);
+    
     /**
      * Gets all pending tasks for a student ordered by priority.
      * 
@@ -50,5 +174,18 @@ public interface TaskService {
      * @return List of pending tasks ordered by priority
      */
     List<Task> getPendingTasksByStudentPrioritized(Long studentId);
+    
+    /**
+     * The first {@code limit} pending tasks of a student in priority order, as summaries.
+     */
+    List<TaskSummary> getTopTaskSummariesForStudent(Long studentId, int limit);
+    
+    /**
+     * Re-bases the stored priority score of every task on today's date.
+     * Scores drift by one point per day, so this runs after each day rollover.
+     * 
+     * @return Number of tasks whose score changed
+     */
+    int refreshPriorityScores();
 }
 
@@ -3,13 +3,23 @@ package ch.unisg.studybuddy.service;
 import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.Task;
 import ch.unisg.studybuddy.persistence.CourseRepository;
+import ch.unisg.studybuddy.persistence.CourseTaskCounts;
+import ch.unisg.studybuddy.persistence.TaskCounterState;
 import ch.unisg.studybuddy.persistence.TaskRepository;
+import ch.unisg.studybuddy.service.dto.BulkCompletionResult;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,94 +29,373 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    // Lower bound of the first keyset page: a range from it reads the dated tasks through the index,
+    // where IS NOT NULL would first step over every task without due date
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1, 1, 1);
+
     private final TaskRepository taskRepository;
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<Task> findAll() {
         return taskRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Task> findAll(Pageable pageable) {
+        return taskRepository.findAllBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Task> findById(Long id) {
         return taskRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Task> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return taskRepository.findByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Task> findByCourseId(Long courseId) {
         return taskRepository.findByCourseId(courseId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Task> findByCourseId(Long courseId, Pageable pageable) {
+        return taskRepository.findByCourseId(courseId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Task> findTasks(Long courseId, boolean includeCompleted, Pageable pageable) {
+        if (courseId == null) {
+            return includeCompleted
+                    ? taskRepository.findAllBy(pageable)
+                    : taskRepository.findByCompleted(false, pageable);
+        }
+        return includeCompleted
+                ? taskRepository.findByCourseId(courseId, pageable)
+                : taskRepository.findByCourseIdAndCompleted(courseId, false, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TaskSummary> findSummaryById(Long id) {
+        return taskRepository.findSummaryById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskSummary> findSummaries(Long courseId, Pageable pageable) {
+        return courseId != null
+                ? taskRepository.findSummariesByCourseId(courseId, pageable)
+                : taskRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findByDueDateAfter(Long courseId, LocalDate afterDueDate, Long afterId, int limit) {
+        List<TaskSummary> page = new ArrayList<>();
+        if (afterId == null || afterDueDate != null) {
+            LocalDate dueDate = afterId == null ? EARLIEST_DUE_DATE : afterDueDate;
+            long id = afterId == null ? 0L : afterId;
+            Pageable firstRows = PageRequest.of(0, limit);
+            page.addAll(courseId != null
+                    ? taskRepository.findByCourseIdDueAfter(courseId, dueDate, id, firstRows)
+                    : taskRepository.findDueAfter(dueDate, id, firstRows));
+        }
+        if (page.size() < limit) {
+            // The tasks without due date follow the last dated one, or continue after the given one
+            long id = afterId != null && afterDueDate == null ? afterId : 0L;
+            Pageable remainingRows = PageRequest.of(0, limit - page.size());
+            page.addAll(courseId != null
+                    ? taskRepository.findByCourseIdWithoutDueDateAfter(courseId, id, remainingRows)
+                    : taskRepository.findWithoutDueDateAfter(id, remainingRows));
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByCompleted(boolean completed) {
+        return taskRepository.countByCompleted(completed);
+    }
+
     @Override
     public Task save(Task task) {
-        return taskRepository.save(task);
+        TaskCounterState previous = task.getId() != null
+                ? taskRepository.findCounterStateById(task.getId()).orElse(null)
+                : null;
+        // Flush so the persisted row and the counters always describe the same state
+        Task saved = taskRepository.saveAndFlush(task);
+        
+        Long courseId = saved.getCourse().getId();
+        int completed = countOf(saved.getCompleted());
+        if (previous == null) {
+            adjustTaskCounts(courseId, 1, completed);
+        } else if (previous.getCourseId().equals(courseId)) {
+            adjustTaskCounts(courseId, 0, completed - countOf(previous.getCompleted()));
+        } else {
+            adjustTaskCounts(previous.getCourseId(), -1, -countOf(previous.getCompleted()));
+            adjustTaskCounts(courseId, 1, completed);
+            publishChange(EntityChangedEvent.ofCourse(Task.class, previous.getCourseId()));
+        }
+        publishChange(previous == null
+                ? EntityChangedEvent.created(Task.class, saved.getId(), courseId)
+                : EntityChangedEvent.updated(Task.class, saved.getId(), courseId));
+        return saved;
     }
 
     @Override
     public Task createTask(Long courseId, Task task) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
+        Course course = courseReference(courseId);
         
         task.setCourse(course);
-        return taskRepository.save(task);
+        Task saved = taskRepository.saveAndFlush(task);
+        adjustTaskCounts(courseId, 1, countOf(saved.getCompleted()));
+        publishChange(EntityChangedEvent.created(Task.class, saved.getId(), courseId));
+        return saved;
+    }
+
+    @Override
+    public List<Task> createTasks(Long courseId, List<Task> tasks) {
+        Course course = courseReference(courseId);
+        
+        int completed = 0;
+        for (Task task : tasks) {
+            if (task.getId() != null) {
+                throw new IllegalArgumentException("New task must not have an id: " + task.getId());
+            }
+            task.setCourse(course);
+            completed += countOf(task.getCompleted());
+        }
+        // One flush sends all inserts in JDBC batches
+        List<Task> saved = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        adjustTaskCounts(courseId, saved.size(), completed);
+        publishChange(EntityChangedEvent.created(Task.class, null, courseId));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findCounterStateById(id).ifPresent(state -> {
+            taskRepository.deleteById(id);
+            adjustTaskCounts(state.getCourseId(), -1, -countOf(state.getCompleted()));
+            publishChange(EntityChangedEvent.deleted(Task.class, id, state.getCourseId()));
+        });
     }
 
     @Override
     public Task markAsCompleted(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
-        task.setCompleted(true);
-        return taskRepository.save(task);
+        return setCompleted(taskId, true);
     }
 
     @Override
     public Task markAsIncomplete(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
-        task.setCompleted(false);
-        return taskRepository.save(task);
+        return setCompleted(taskId, false);
     }
 
     @Override
+    public BulkCompletionResult setCompleted(List<Long> taskIds, boolean completed) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            throw new IllegalArgumentException("No task IDs given");
+        }
+        List<Long> courseIds = taskRepository.findCourseIdsToComplete(taskIds, completed);
+        int updated = courseIds.isEmpty() ? 0 : taskRepository.updateCompleted(taskIds, completed);
+        return toBulkCompletionResult(completed, updated, courseIds);
+    }
+
+    @Override
+    public BulkCompletionResult setCompleted(Long courseId, LocalDate dueBefore, boolean completed) {
+        if (courseId == null && dueBefore == null) {
+            throw new IllegalArgumentException("Either a course ID or a due date is required");
+        }
+        if (courseId == null) {
+            List<Long> courseIds = taskRepository.findCourseIdsDueBeforeToComplete(dueBefore, completed);
+            int updated = courseIds.isEmpty() ? 0 : taskRepository.updateCompletedDueBefore(dueBefore, completed);
+            return toBulkCompletionResult(completed, updated, courseIds);
+        }
+        List<Long> courseIds = taskRepository.findCourseIdsToComplete(courseId, dueBefore, completed);
+        int updated = courseIds.isEmpty() ? 0 : taskRepository.updateCompleted(courseId, dueBefore, completed);
+        return toBulkCompletionResult(completed, updated, courseIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ProgressResult calculateProgress(Long courseId) {
-        Course course = courseRepository.findById(courseId)
+        CourseTaskCounts counts = courseRepository.findTaskCountsById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
         
-        long totalTasks = taskRepository.countByCourseId(courseId);
-        long completedTasks = taskRepository.countCompletedByCourseId(courseId);
-        
-        return ProgressResult.calculate(courseId, course.getTitle(), totalTasks, completedTasks);
+        return toProgressResult(counts);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ProgressResult> calculateProgressForStudent(Long studentId) {
+        return courseRepository.findTaskCountsByStudentId(studentId).stream()
+                .map(this::toProgressResult)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int reconcileTaskCounts() {
+        int updated = courseRepository.rebuildTaskCounts();
+        publishChange(EntityChangedEvent.ofAll(Task.class));
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findCoursesWithInconsistentTaskCounts() {
+        return courseRepository.findIdsWithInconsistentTaskCounts();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Task> getTasksByPriority(Long courseId) {
-        List<Task> tasks;
-        
         if (courseId != null) {
-            tasks = taskRepository.findByCourseIdAndCompleted(courseId, false);
-        } else {
-            tasks = taskRepository.findAll().stream()
-                    .filter(t -> !t.getCompleted())
-                    .collect(Collectors.toList());
+            return taskRepository.findPendingByCourseIdOrderByPriority(courseId, Pageable.unpaged()).getContent();
+        }
+        return taskRepository.findPendingOrderByPriority(Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskSummary> getTaskSummariesByPriority(Long courseId, Pageable pageable) {
+        // The query defines the order; a requested sort would only be appended after it
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return courseId != null
+                ? taskRepository.findPendingSummariesByCourseIdOrderByPriority(courseId, page)
+                : taskRepository.findPendingSummariesOrderByPriority(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> getTopTasksByPriority(Long courseId, int limit, int offset) {
+        if (limit <= 0) {
+            return new ArrayList<>();
         }
+        int skip = Math.max(0, offset);
+        Pageable window = PageRequest.of(0, skip + limit);
         
-        return tasks.stream()
-                .sorted(Comparator.comparingDouble(Task::calculatePriorityScore).reversed())
-                .collect(Collectors.toList());
+        List<Task> top = courseId != null
+                ? taskRepository.findPendingByCourseIdOrderByPriority(courseId, window).getContent()
+                : taskRepository.findPendingOrderByPriority(window).getContent();
+        if (top.size() <= skip) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(top.subList(skip, top.size()));
     }
 
     @Override
-    public List<Task> getPendingTasksByStudentPrioritized(Long studentId) {
-        List<Task> pendingTasks = taskRepository.findPendingTasksByStudentId(studentId);
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTopTaskSummariesByPriority(Long courseId, int limit, int offset) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        int skip = Math.max(0, offset);
+        Pageable window = PageRequest.of(0, skip + limit);
         
-        return pendingTasks.stream()
-                .sorted(Comparator.comparingDouble(Task::calculatePriorityScore).reversed())
-                .collect(Collectors.toList());
+        List<TaskSummary> top = courseId != null
+                ? taskRepository.findPendingSummariesByCourseIdOrderByPriority(courseId, window).getContent()
+                : taskRepository.findPendingSummariesOrderByPriority(window).getContent();
+        if (top.size() <= skip) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(top.subList(skip, top.size()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> getPendingTasksByStudentPrioritized(Long studentId) {
+        return taskRepository.findPendingByStudentIdOrderByPriority(studentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTopTaskSummariesForStudent(Long studentId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return taskRepository.findPendingSummariesByStudentIdOrderByPriority(studentId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public int refreshPriorityScores() {
+        LocalDate today = LocalDate.now();
+        int changed = taskRepository.refreshPriorityScores(today, today.plusDays(100));
+        publishChange(EntityChangedEvent.ofAll(Task.class));
+        return changed;
+    }
+
+    /**
+     * The task is read with its row locked, so concurrent toggles of the same task run one after the
+     * other and each derives its counter delta from the state the previous one committed.
+     */
+    private Task setCompleted(Long taskId, boolean completed) {
+        Task task = taskRepository.findByIdForUpdate(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
+        int delta = countOf(completed) - countOf(task.getCompleted());
+        task.setCompleted(completed);
+        Task saved = taskRepository.saveAndFlush(task);
+        adjustTaskCounts(saved.getCourse().getId(), 0, delta);
+        publishChange(EntityChangedEvent.updated(Task.class, saved.getId(), saved.getCourse().getId()));
+        return saved;
+    }
+
+    /**
+     * A new task only needs the course's key; the existence check is served from the query cache.
+     */
+    private Course courseReference(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found with id: " + courseId);
+        }
+        return courseRepository.getReferenceById(courseId);
+    }
+
+    private void adjustTaskCounts(Long courseId, long totalDelta, long completedDelta) {
+        if (totalDelta != 0 || completedDelta != 0) {
+            courseRepository.adjustTaskCounts(courseId, totalDelta, completedDelta);
+        }
+    }
+
+    /**
+     * The bulk update bypasses the per-task counter adjustments, so the affected courses are recounted instead.
+     */
+    private BulkCompletionResult toBulkCompletionResult(boolean completed, int updated, List<Long> courseIds) {
+        if (updated > 0) {
+            courseRepository.rebuildTaskCounts(courseIds);
+            courseIds.forEach(courseId -> publishChange(EntityChangedEvent.ofCourse(Task.class, courseId)));
+        }
+        return BulkCompletionResult.builder()
+                .completed(completed)
+                .updatedTasks(updated)
+                .affectedCourseIds(courseIds)
+                .build();
     }
-}
 
+    private void publishChange(EntityChangedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+
+    private ProgressResult toProgressResult(CourseTaskCounts counts) {
+        return ProgressResult.calculate(counts.getCourseId(), counts.getCourseTitle(),
+                counts.getTotalTasks(), counts.getCompletedTasks());
+    }
+
+    private static int countOf(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1 : 0;
+    }
+}
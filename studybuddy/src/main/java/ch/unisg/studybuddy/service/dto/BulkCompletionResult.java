@@ -0,0 +1,19 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCompletionResult {
+    
+    private boolean completed;
+    private int updatedTasks;
+    private List<Long> affectedCourseIds;
+}
@@ -0,0 +1,26 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatistics {
+
+    private String region;
+    private int size;
+    private int maxEntries;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? Math.round(hitCount * 10000.0 / lookups) / 10000.0 : 0.0;
+    }
+}
@@ -17,8 +17,17 @@ public class ClashCheckResult {
     
     private boolean hasClash;
     
+    /**
+     * Existing sessions the proposal overlaps.
+     */
     @Builder.Default
-    private List<StudySession> clashingSessions = new ArrayList<>();
+    private List<StudySessionSummary> clashingSessions = new ArrayList<>();
+    
+    /**
+     * Other proposals of the same batch check the proposal overlaps, as the clashing occurrences.
+     */
+    @Builder.Default
+    private List<StudySessionSummary> clashingProposals = new ArrayList<>();
     
     private String warningMessage;
     
@@ -26,29 +35,42 @@ public class ClashCheckResult {
         return ClashCheckResult.builder()
                 .hasClash(false)
                 .clashingSessions(new ArrayList<>())
+                .clashingProposals(new ArrayList<>())
                 .warningMessage(null)
                 .build();
     }
     
     public static ClashCheckResult withClashes(List<StudySession> clashingSessions) {
-        StringBuilder message = new StringBuilder("Session conflicts with ");
-        message.append(clashingSessions.size());
-        message.append(" existing session(s): ");
+        return withClashes(clashingSessions, List.of());
+    }
+    
+    public static ClashCheckResult withClashes(List<StudySession> clashingSessions, List<StudySession> clashingProposals) {
+        List<String> conflicts = new ArrayList<>();
+        if (!clashingSessions.isEmpty()) {
+            conflicts.add(describe(clashingSessions.size() + " existing session(s)", clashingSessions));
+        }
+        if (!clashingProposals.isEmpty()) {
+            conflicts.add(describe(clashingProposals.size() + " other proposed session(s)", clashingProposals));
+        }
         
-        for (int i = 0; i < clashingSessions.size(); i++) {
-            StudySession s = clashingSessions.get(i);
+        return ClashCheckResult.builder()
+                .hasClash(true)
+                .clashingSessions(clashingSessions.stream().map(StudySessionSummary::of).toList())
+                .clashingProposals(clashingProposals.stream().map(StudySessionSummary::of).toList())
+                .warningMessage("Session conflicts with " + String.join("; and with ", conflicts))
+                .build();
+    }
+    
+    private static String describe(String what, List<StudySession> sessions) {
+        StringBuilder message = new StringBuilder(what).append(": ");
+        for (int i = 0; i < sessions.size(); i++) {
+            StudySession s = sessions.get(i);
             if (i > 0) message.append(", ");
             message.append(String.format("%s (%s - %s)",
                     s.getCourse() != null ? s.getCourse().getTitle() : "Unknown",
                     s.getStartTime().toLocalTime(),
                     s.getEndTime().toLocalTime()));
         }
-        
-        return ClashCheckResult.builder()
-                .hasClash(true)
-                .clashingSessions(clashingSessions)
-                .warningMessage(message.toString())
-                .build();
+        return message.toString();
     }
 }
-
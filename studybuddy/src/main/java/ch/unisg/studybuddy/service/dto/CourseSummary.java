@@ -0,0 +1,25 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model of a course, selected column by column so no association is loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummary {
+    
+    private Long id;
+    private Long studentId;
+    private String title;
+    private String term;
+    private String instructor;
+    private String description;
+    private Long taskCount;
+    private Long completedTaskCount;
+}
@@ -0,0 +1,28 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything the dashboard shows for one student, as of {@link #date}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSnapshot {
+    
+    private Long studentId;
+    private LocalDate date;
+    private int courseCount;
+    private long pendingTasks;
+    private long completedTasks;
+    private int sessionsToday;
+    private List<ProgressResult> courseProgress;
+    private List<TaskSummary> priorityTasks;
+}
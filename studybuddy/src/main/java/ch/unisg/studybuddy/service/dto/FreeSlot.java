@@ -0,0 +1,28 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlot {
+    
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private int durationMinutes;
+    
+    public static FreeSlot of(LocalDateTime startTime, LocalDateTime endTime) {
+        return FreeSlot.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationMinutes((int) Duration.between(startTime, endTime).toMinutes())
+                .build();
+    }
+}
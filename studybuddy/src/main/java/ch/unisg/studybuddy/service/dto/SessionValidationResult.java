@@ -0,0 +1,25 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionValidationResult {
+    
+    private boolean hasWarnings;
+    private LoadCheckResult loadCheck;
+    private ClashCheckResult clashCheck;
+    
+    public static SessionValidationResult of(LoadCheckResult loadCheck, ClashCheckResult clashCheck) {
+        return SessionValidationResult.builder()
+                .hasWarnings(loadCheck.isExceedsLimit() || clashCheck.isHasClash())
+                .loadCheck(loadCheck)
+                .clashCheck(clashCheck)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model of a student profile without its courses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSummary {
+    
+    private Long id;
+    private String name;
+    private String email;
+    private String locale;
+    private String settings;
+}
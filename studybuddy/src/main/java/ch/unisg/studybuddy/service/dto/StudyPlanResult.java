@@ -0,0 +1,33 @@
+package ch.unisg.studybuddy.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyPlanResult {
+    
+    @Builder.Default
+    private List<StudySessionSummary> proposedSessions = new ArrayList<>();
+    
+    /**
+     * Tasks whose effort could not be covered completely before their due date.
+     */
+    @Builder.Default
+    private List<Long> unplannedTaskIds = new ArrayList<>();
+    
+    private int plannedMinutes;
+    private int unplannedMinutes;
+    
+    /**
+     * True when planning stopped at the time budget; the remaining tasks are listed as unplanned.
+     */
+    private boolean timedOut;
+}
@@ -0,0 +1,48 @@
+package ch.unisg.studybuddy.service.dto;
+
+import ch.unisg.studybuddy.model.StudySession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a study session; the course is referenced by its ID only.
+ * A recurring session is listed once, at its first occurrence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudySessionSummary {
+    
+    private Long id;
+    private Long courseId;
+    private LocalDateTime startTime;
+    private Integer durationMinutes;
+    private String location;
+    private String notes;
+    private Boolean completed;
+    private Integer repeatEveryDays;
+    private LocalDate repeatUntil;
+    
+    /**
+     * Summary of a session that is already loaded, e.g. an expanded occurrence or a proposal.
+     */
+    public static StudySessionSummary of(StudySession session) {
+        return StudySessionSummary.builder()
+                .id(session.getId())
+                .courseId(session.getCourse() != null ? session.getCourse().getId() : null)
+                .startTime(session.getStartTime())
+                .durationMinutes(session.getDurationMinutes())
+                .location(session.getLocation())
+                .notes(session.getNotes())
+                .completed(session.getCompleted())
+                .repeatEveryDays(session.getRepeatEveryDays())
+                .repeatUntil(session.getRepeatUntil())
+                .build();
+    }
+}
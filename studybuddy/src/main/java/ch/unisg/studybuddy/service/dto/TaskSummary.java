@@ -0,0 +1,46 @@
+package ch.unisg.studybuddy.service.dto;
+
+import ch.unisg.studybuddy.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Read model of a task; the course is referenced by its ID only.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummary {
+    
+    private Long id;
+    private Long courseId;
+    private String title;
+    private String description;
+    private Task.TaskType taskType;
+    private LocalDate dueDate;
+    private Integer estimatedEffortHours;
+    private Boolean completed;
+    private Double priorityScore;
+    
+    /**
+     * Summary of a task that is already loaded.
+     */
+    public static TaskSummary of(Task task) {
+        return TaskSummary.builder()
+                .id(task.getId())
+                .courseId(task.getCourse() != null ? task.getCourse().getId() : null)
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .taskType(task.getTaskType())
+                .dueDate(task.getDueDate())
+                .estimatedEffortHours(task.getEstimatedEffortHours())
+                .completed(task.getCompleted())
+                .priorityScore(task.getPriorityScore())
+                .build();
+    }
+}
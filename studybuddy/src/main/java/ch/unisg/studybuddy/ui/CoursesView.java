@@ -4,10 +4,14 @@ import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.CourseNote;
 import ch.unisg.studybuddy.model.CoursePreference;
 import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.service.ChangeBroadcaster;
 import ch.unisg.studybuddy.service.CourseService;
 import ch.unisg.studybuddy.service.StudentProfileService;
 import ch.unisg.studybuddy.service.TaskService;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.dialog.Dialog;
@@ -29,10 +33,17 @@ import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Route(value = "courses", layout = MainLayout.class)
 @PageTitle("Courses | StudyBuddy")
@@ -41,16 +52,20 @@ public class CoursesView extends VerticalLayout {
     private final CourseService courseService;
     private final StudentProfileService studentProfileService;
     private final TaskService taskService;
+    private final ChangeBroadcaster changeBroadcaster;
 
     private Grid<Course> grid = new Grid<>(Course.class, false);
     private StudentProfile currentStudent;
+    private Map<Long, ProgressResult> progressByCourseId = new HashMap<>();
+    private Registration liveUpdates;
 
     @Autowired
     public CoursesView(CourseService courseService, StudentProfileService studentProfileService,
-                       TaskService taskService) {
+                       TaskService taskService, ChangeBroadcaster changeBroadcaster) {
         this.courseService = courseService;
         this.studentProfileService = studentProfileService;
         this.taskService = taskService;
+        this.changeBroadcaster = changeBroadcaster;
 
         addClassName("courses-view");
         setSizeFull();
@@ -64,6 +79,23 @@ public class CoursesView extends VerticalLayout {
         updateGrid();
     }
 
+    /**
+     * Course edits and task changes, which move the progress column, refresh the grid; a burst of
+     * them arrives as one batch and costs one refresh.
+     */
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        liveUpdates = LiveUpdates.subscribe(changeBroadcaster, attachEvent.getUI(), null,
+                Set.of(Course.class, Task.class), changes -> updateGrid());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        liveUpdates.remove();
+        super.onDetach(detachEvent);
+    }
+
     private void ensureStudentExists() {
         List<StudentProfile> students = studentProfileService.findAll();
         if (students.isEmpty()) {
@@ -95,12 +127,15 @@ public class CoursesView extends VerticalLayout {
     }
 
     private Grid<Course> createGrid() {
-        grid.addColumn(Course::getTitle).setHeader("Course Title").setFlexGrow(2);
-        grid.addColumn(Course::getTerm).setHeader("Term").setFlexGrow(1);
-        grid.addColumn(Course::getInstructor).setHeader("Instructor").setFlexGrow(1);
+        grid.addColumn(Course::getTitle).setHeader("Course Title").setSortProperty("title").setFlexGrow(2);
+        grid.addColumn(Course::getTerm).setHeader("Term").setSortProperty("term").setFlexGrow(1);
+        grid.addColumn(Course::getInstructor).setHeader("Instructor").setSortProperty("instructor").setFlexGrow(1);
         
         grid.addComponentColumn(course -> {
-            ProgressResult progress = taskService.calculateProgress(course.getId());
+            ProgressResult progress = progressByCourseId.get(course.getId());
+            if (progress == null) {
+                progress = taskService.calculateProgress(course.getId());
+            }
             ProgressBar bar = new ProgressBar();
             bar.setValue(progress.getCompletionPercentage() / 100.0);
             bar.setWidth("100px");
@@ -138,6 +173,7 @@ public class CoursesView extends VerticalLayout {
             return new HorizontalLayout(editBtn, noteBtn, prefBtn, deleteBtn);
         }).setHeader("Actions").setFlexGrow(1);
 
+        grid.setItems(query -> courseService.findAll(GridPaging.pageRequest(query, Sort.by("title"))).stream());
         grid.setWidthFull();
         grid.setHeight("500px");
         grid.getStyle()
@@ -286,7 +322,9 @@ public class CoursesView extends VerticalLayout {
     }
 
     private void updateGrid() {
-        grid.setItems(courseService.findAll());
+        progressByCourseId = taskService.calculateProgressForStudent(currentStudent.getId()).stream()
+                .collect(Collectors.toMap(ProgressResult::getCourseId, Function.identity()));
+        grid.getDataProvider().refreshAll();
     }
 }
 
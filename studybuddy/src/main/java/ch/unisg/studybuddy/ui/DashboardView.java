@@ -1,13 +1,20 @@
 package ch.unisg.studybuddy.ui;
 
 import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
 import ch.unisg.studybuddy.model.StudySession;
 import ch.unisg.studybuddy.model.Task;
-import ch.unisg.studybuddy.service.CourseService;
-import ch.unisg.studybuddy.service.StudySessionService;
-import ch.unisg.studybuddy.service.TaskService;
+import ch.unisg.studybuddy.service.ChangeBroadcaster;
+import ch.unisg.studybuddy.service.DashboardService;
+import ch.unisg.studybuddy.service.StudentProfileService;
+import ch.unisg.studybuddy.service.dto.DashboardSnapshot;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -18,28 +25,61 @@ import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteAlias;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Route(value = "dashboard", layout = MainLayout.class)
 @RouteAlias(value = "", layout = MainLayout.class)
 @PageTitle("Dashboard | StudyBuddy")
+@Slf4j
 public class DashboardView extends VerticalLayout {
 
-    private final CourseService courseService;
-    private final TaskService taskService;
-    private final StudySessionService studySessionService;
-
+    private final DashboardService dashboardService;
+    private final StudentProfileService studentProfileService;
+    private final ChangeBroadcaster changeBroadcaster;
+    private final AsyncTaskExecutor executor;
+
+    private final H3 courseCount = createStatValue("#2563eb");
+    private final H3 pendingCount = createStatValue("#dc2626");
+    private final H3 completedCount = createStatValue("#16a34a");
+    private final H3 sessionsToday = createStatValue("#7c3aed");
+    private final VerticalLayout progressSection = createSection("📊 Course Progress");
+    private final VerticalLayout tasksSection = createSection("⚡ Priority Tasks");
+    private final List<CompletableFuture<?>> loading = new ArrayList<>();
+    private Registration liveUpdates;
+
+    /**
+     * The view is returned as a skeleton; the student's dashboard snapshot is fetched on the
+     * application task executor once it is attached and filled in through server push. A cached
+     * snapshot costs a map lookup, a missing one runs its queries on that executor thread.
+     * Afterwards, every batch of changes to the student's data reloads the snapshot.
+     */
     @Autowired
-    public DashboardView(CourseService courseService, TaskService taskService, 
-                         StudySessionService studySessionService) {
-        this.courseService = courseService;
-        this.taskService = taskService;
-        this.studySessionService = studySessionService;
+    public DashboardView(DashboardService dashboardService, StudentProfileService studentProfileService,
+                         ChangeBroadcaster changeBroadcaster,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                         AsyncTaskExecutor executor) {
+        this.dashboardService = dashboardService;
+        this.studentProfileService = studentProfileService;
+        this.changeBroadcaster = changeBroadcaster;
+        this.executor = executor;
 
         addClassName("dashboard-view");
         setPadding(true);
@@ -50,6 +90,63 @@ public class DashboardView extends VerticalLayout {
         add(createMainContent());
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        load(ui, () -> studentProfileService.findFirstId().map(dashboardService::getSnapshot),
+                snapshot -> {
+                    showSnapshot(snapshot);
+                    snapshot.ifPresent(loaded -> subscribe(ui, loaded.getStudentId()));
+                });
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (liveUpdates != null) {
+            liveUpdates.remove();
+            liveUpdates = null;
+        }
+        loading.forEach(future -> future.cancel(false));
+        loading.clear();
+        super.onDetach(detachEvent);
+    }
+
+    private void subscribe(UI ui, Long studentId) {
+        if (liveUpdates == null) {
+            liveUpdates = LiveUpdates.subscribe(changeBroadcaster, ui, studentId,
+                    Set.of(Task.class, StudySession.class, Course.class, StudentProfile.class),
+                    changes -> load(ui, () -> Optional.of(dashboardService.getSnapshot(studentId)),
+                            this::showSnapshot));
+        }
+    }
+
+    /**
+     * Runs a query in the background and hands its result to the UI thread.
+     */
+    private <T> void load(UI ui, Supplier<T> query, Consumer<T> show) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(query, executor);
+        loading.removeIf(CompletableFuture::isDone);
+        loading.add(future);
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                log.warn("Dashboard query failed", error);
+            }
+            try {
+                ui.access(() -> {
+                    if (error == null) {
+                        show.accept(result);
+                    }
+                });
+            } catch (UIDetachedException e) {
+                // The user left the page before the query finished
+            }
+        });
+    }
+
     private Component createWelcomeSection() {
         H2 title = new H2("Welcome to StudyBuddy! 👋");
         title.addClassNames(LumoUtility.Margin.Bottom.NONE);
@@ -64,36 +161,36 @@ public class DashboardView extends VerticalLayout {
     }
 
     private Component createStatsCards() {
-        List<Course> courses = courseService.findAll();
-        List<Task> allTasks = taskService.findAll();
-        long pendingTasks = allTasks.stream().filter(t -> !t.getCompleted()).count();
-        long completedTasks = allTasks.stream().filter(Task::getCompleted).count();
-
         HorizontalLayout cards = new HorizontalLayout();
         cards.setWidthFull();
         cards.setSpacing(true);
 
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd"));
+
         cards.add(
-                createStatCard("Courses", String.valueOf(courses.size()), VaadinIcon.ACADEMY_CAP, "#2563eb"),
-                createStatCard("Pending Tasks", String.valueOf(pendingTasks), VaadinIcon.TASKS, "#dc2626"),
-                createStatCard("Completed", String.valueOf(completedTasks), VaadinIcon.CHECK_CIRCLE, "#16a34a"),
-                createStatCard("Today", LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd")), VaadinIcon.CALENDAR, "#7c3aed")
+                createStatCard("Courses", courseCount, VaadinIcon.ACADEMY_CAP, "#2563eb"),
+                createStatCard("Pending Tasks", pendingCount, VaadinIcon.TASKS, "#dc2626"),
+                createStatCard("Completed", completedCount, VaadinIcon.CHECK_CIRCLE, "#16a34a"),
+                createStatCard("Sessions Today (" + today + ")", sessionsToday, VaadinIcon.CALENDAR, "#7c3aed")
         );
 
         return cards;
     }
 
-    private Component createStatCard(String label, String value, VaadinIcon iconType, String color) {
-        Icon icon = iconType.create();
-        icon.setSize("24px");
-        icon.getStyle().set("color", color);
-
-        H3 valueLabel = new H3(value);
+    private static H3 createStatValue(String color) {
+        H3 valueLabel = new H3("–");
         valueLabel.getStyle()
                 .set("margin", "0")
                 .set("font-size", "2rem")
                 .set("font-weight", "700")
                 .set("color", color);
+        return valueLabel;
+    }
+
+    private Component createStatCard(String label, H3 valueLabel, VaadinIcon iconType, String color) {
+        Icon icon = iconType.create();
+        icon.setSize("24px");
+        icon.getStyle().set("color", color);
 
         Span labelSpan = new Span(label);
         labelSpan.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
@@ -117,42 +214,59 @@ public class DashboardView extends VerticalLayout {
         content.setWidthFull();
         content.setSpacing(true);
 
-        content.add(createCourseProgressSection());
-        content.add(createUpcomingTasksSection());
+        content.add(progressSection);
+        content.add(tasksSection);
 
         return content;
     }
 
-    private Component createCourseProgressSection() {
+    private static VerticalLayout createSection(String heading) {
         VerticalLayout section = new VerticalLayout();
-        section.addClassName("section-card");
         section.getStyle()
                 .set("background", "var(--lumo-base-color)")
                 .set("border-radius", "var(--lumo-border-radius-l)")
                 .set("box-shadow", "var(--lumo-box-shadow-s)")
                 .set("flex", "1");
 
-        H3 title = new H3("📊 Course Progress");
+        H3 title = new H3(heading);
         title.getStyle().set("margin-top", "0");
+
+        ProgressBar placeholder = new ProgressBar();
+        placeholder.setIndeterminate(true);
+        section.add(title, placeholder);
+        return section;
+    }
+
+    private static void replaceContent(VerticalLayout section, List<Component> content) {
+        Component title = section.getComponentAt(0);
+        section.removeAll();
         section.add(title);
+        content.forEach(section::add);
+    }
 
-        List<Course> courses = courseService.findAll();
-        
-        if (courses.isEmpty()) {
-            section.add(new Paragraph("No courses yet. Add your first course!"));
+    private void showSnapshot(Optional<DashboardSnapshot> loaded) {
+        DashboardSnapshot snapshot = loaded.orElseGet(() -> DashboardSnapshot.builder()
+                .courseProgress(List.of())
+                .priorityTasks(List.of())
+                .build());
+        courseCount.setText(String.valueOf(snapshot.getCourseCount()));
+        pendingCount.setText(String.valueOf(snapshot.getPendingTasks()));
+        completedCount.setText(String.valueOf(snapshot.getCompletedTasks()));
+        sessionsToday.setText(String.valueOf(snapshot.getSessionsToday()));
+        showProgress(snapshot.getCourseProgress());
+        showPriorityTasks(snapshot);
+    }
+
+    private void showProgress(List<ProgressResult> progressResults) {
+        if (progressResults.isEmpty()) {
+            replaceContent(progressSection, List.of(new Paragraph("No courses yet. Add your first course!")));
         } else {
-            for (Course course : courses) {
-                section.add(createCourseProgressItem(course));
-            }
+            replaceContent(progressSection, progressResults.stream().map(this::createCourseProgressItem).toList());
         }
-
-        return section;
     }
 
-    private Component createCourseProgressItem(Course course) {
-        ProgressResult progress = taskService.calculateProgress(course.getId());
-
-        Span courseName = new Span(course.getTitle());
+    private Component createCourseProgressItem(ProgressResult progress) {
+        Span courseName = new Span(progress.getCourseTitle());
         courseName.getStyle().set("font-weight", "500");
 
         Span percentage = new Span(String.format("%.0f%%", progress.getCompletionPercentage()));
@@ -182,33 +296,19 @@ public class DashboardView extends VerticalLayout {
         return item;
     }
 
-    private Component createUpcomingTasksSection() {
-        VerticalLayout section = new VerticalLayout();
-        section.getStyle()
-                .set("background", "var(--lumo-base-color)")
-                .set("border-radius", "var(--lumo-border-radius-l)")
-                .set("box-shadow", "var(--lumo-box-shadow-s)")
-                .set("flex", "1");
-
-        H3 title = new H3("⚡ Priority Tasks");
-        title.getStyle().set("margin-top", "0");
-        section.add(title);
-
-        List<Task> prioritizedTasks = taskService.getTasksByPriority(null);
-        
-        if (prioritizedTasks.isEmpty()) {
-            section.add(new Paragraph("No pending tasks. Great job!"));
+    private void showPriorityTasks(DashboardSnapshot snapshot) {
+        Map<Long, String> courseTitles = snapshot.getCourseProgress().stream()
+                .collect(Collectors.toMap(ProgressResult::getCourseId, ProgressResult::getCourseTitle));
+        if (snapshot.getPriorityTasks().isEmpty()) {
+            replaceContent(tasksSection, List.of(new Paragraph("No pending tasks. Great job!")));
         } else {
-            // Show top 5 priority tasks
-            prioritizedTasks.stream().limit(5).forEach(task -> {
-                section.add(createTaskItem(task));
-            });
+            replaceContent(tasksSection, snapshot.getPriorityTasks().stream()
+                    .map(task -> createTaskItem(task, courseTitles.getOrDefault(task.getCourseId(), "")))
+                    .toList());
         }
-
-        return section;
     }
 
-    private Component createTaskItem(Task task) {
+    private Component createTaskItem(TaskSummary task, String courseTitle) {
         Icon icon = task.getCompleted() ? VaadinIcon.CHECK_CIRCLE.create() : VaadinIcon.CIRCLE_THIN.create();
         icon.setSize("18px");
         icon.getStyle().set("color", task.getCompleted() ? "#16a34a" : "var(--lumo-contrast-50pct)");
@@ -219,7 +319,7 @@ public class DashboardView extends VerticalLayout {
             title.getStyle().set("text-decoration", "line-through");
         }
 
-        Span courseLabel = new Span(task.getCourse() != null ? task.getCourse().getTitle() : "");
+        Span courseLabel = new Span(courseTitle);
         courseLabel.addClassNames(LumoUtility.FontSize.XSMALL);
         courseLabel.getStyle()
                 .set("background", "var(--lumo-primary-color-10pct)")
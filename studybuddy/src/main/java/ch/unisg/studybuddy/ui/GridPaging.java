@@ -0,0 +1,46 @@
+package ch.unisg.studybuddy.ui;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Turns the range and sort order a lazy grid asks for into a page request for the services,
+ * so the grids only hold the rows in view instead of every entity of the account.
+ */
+final class GridPaging {
+
+    private GridPaging() {
+    }
+
+    /**
+     * @param query The grid's fetch query
+     * @param defaultSort Order used while no column is sorted
+     * @return Page request ending with the ID, so rows with equal sort values keep their page
+     */
+    static Pageable pageRequest(Query<?, ?> query, Sort defaultSort) {
+        PageRequest request = VaadinSpringDataHelpers.toSpringPageRequest(query);
+        Sort sort = request.getSort().isSorted() ? request.getSort() : defaultSort;
+        return request.withSort(sort.and(Sort.by("id")));
+    }
+
+    /**
+     * Properties the rows are currently ordered by: those of the sorted columns, or the default sort.
+     * A changed row only moves if one of these values changed; otherwise re-rendering the row is enough.
+     */
+    static List<String> sortProperties(Grid<?> grid, Sort defaultSort) {
+        List<String> properties = grid.getSortOrder().stream()
+                .flatMap(order -> order.getSorted().getSortOrder(order.getDirection()))
+                .map(QuerySortOrder::getSorted)
+                .toList();
+        return !properties.isEmpty()
+                ? properties
+                : defaultSort.stream().map(Sort.Order::getProperty).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package ch.unisg.studybuddy.ui;
+
+import ch.unisg.studybuddy.service.ChangeBroadcaster;
+import ch.unisg.studybuddy.service.EntityChangedEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.shared.Registration;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Connects a view to the {@link ChangeBroadcaster}, so writes from other tabs or the REST API are
+ * pushed into it while it is attached.
+ */
+final class LiveUpdates {
+
+    private LiveUpdates() {
+    }
+
+    /**
+     * @param ui UI the view is attached to; the changes are applied while holding its session lock
+     * @param studentId Only receive changes to this student's data (null for all changes)
+     * @param entityTypes Entity classes the view shows; batches without any of them are skipped
+     * @param apply Applies the relevant changes of a batch
+     * @return Registration to remove when the view is detached
+     */
+    static Registration subscribe(ChangeBroadcaster broadcaster, UI ui, Long studentId, Set<Class<?>> entityTypes,
+                                  Consumer<List<EntityChangedEvent>> apply) {
+        Runnable unsubscribe = broadcaster.subscribe(studentId, changes -> {
+            List<EntityChangedEvent> relevant = changes.stream()
+                    .filter(change -> entityTypes.contains(change.entityType()))
+                    .toList();
+            if (relevant.isEmpty()) {
+                return;
+            }
+            try {
+                ui.access(() -> apply.accept(relevant));
+            } catch (UIDetachedException e) {
+                // The tab was closed; its view unsubscribes on detach
+            }
+        });
+        return unsubscribe::run;
+    }
+
+    /**
+     * IDs of the rows a batch changed in place, or empty if it created, deleted or bulk-updated rows
+     * and the rows in view have to be fetched again.
+     */
+    static Optional<Set<Long>> updatedRows(List<EntityChangedEvent> changes, Class<?> rowType) {
+        boolean rowUpdatesOnly = changes.stream()
+                .allMatch(change -> change.entityType() == rowType && change.isRowUpdate());
+        if (!rowUpdatesOnly) {
+            return Optional.empty();
+        }
+        return Optional.of(changes.stream().map(EntityChangedEvent::entityId).collect(Collectors.toSet()));
+    }
+}
@@ -2,10 +2,15 @@ package ch.unisg.studybuddy.ui;
 
 import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.service.ChangeBroadcaster;
 import ch.unisg.studybuddy.service.CourseService;
+import ch.unisg.studybuddy.service.EntityChangedEvent;
 import ch.unisg.studybuddy.service.StudySessionService;
 import ch.unisg.studybuddy.service.dto.ClashCheckResult;
 import ch.unisg.studybuddy.service.dto.LoadCheckResult;
+import ch.unisg.studybuddy.service.dto.SessionValidationResult;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -26,15 +31,21 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.DataKeyMapper;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Route(value = "sessions", layout = MainLayout.class)
 @PageTitle("Study Sessions | StudyBuddy")
@@ -42,17 +53,23 @@ public class StudySessionsView extends VerticalLayout {
 
     private final StudySessionService studySessionService;
     private final CourseService courseService;
+    private final ChangeBroadcaster changeBroadcaster;
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "startTime");
 
     private Grid<StudySession> grid = new Grid<>(StudySession.class, false);
     private ComboBox<Course> courseFilter;
+    private Registration liveUpdates;
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
     @Autowired
-    public StudySessionsView(StudySessionService studySessionService, CourseService courseService) {
+    public StudySessionsView(StudySessionService studySessionService, CourseService courseService,
+                             ChangeBroadcaster changeBroadcaster) {
         this.studySessionService = studySessionService;
         this.courseService = courseService;
+        this.changeBroadcaster = changeBroadcaster;
 
         addClassName("sessions-view");
         setSizeFull();
@@ -61,8 +78,22 @@ public class StudySessionsView extends VerticalLayout {
         add(createHeader());
         add(createFilters());
         add(createGrid());
+    }
+
+    /**
+     * The grid lists the sessions of all students, so it follows every session and course change.
+     */
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        liveUpdates = LiveUpdates.subscribe(changeBroadcaster, attachEvent.getUI(), null,
+                Set.of(StudySession.class, Course.class), this::applyChanges);
+    }
 
-        updateGrid();
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        liveUpdates.remove();
+        super.onDetach(detachEvent);
     }
 
     private HorizontalLayout createHeader() {
@@ -100,7 +131,7 @@ public class StudySessionsView extends VerticalLayout {
 
         grid.addColumn(session -> session.getStartTime() != null ? 
                 session.getStartTime().format(DATE_FORMAT) : "")
-                .setHeader("Date").setFlexGrow(1);
+                .setHeader("Date").setSortProperty("startTime").setFlexGrow(1);
 
         grid.addColumn(session -> {
             if (session.getStartTime() == null) return "";
@@ -110,9 +141,9 @@ public class StudySessionsView extends VerticalLayout {
         }).setHeader("Time").setFlexGrow(1);
 
         grid.addColumn(session -> session.getDurationMinutes() + " min")
-                .setHeader("Duration").setWidth("100px").setFlexGrow(0);
+                .setHeader("Duration").setSortProperty("durationMinutes").setWidth("100px").setFlexGrow(0);
 
-        grid.addColumn(StudySession::getLocation).setHeader("Location").setFlexGrow(1);
+        grid.addColumn(StudySession::getLocation).setHeader("Location").setSortProperty("location").setFlexGrow(1);
 
         grid.addComponentColumn(session -> {
             Checkbox checkbox = new Checkbox();
@@ -120,6 +151,7 @@ public class StudySessionsView extends VerticalLayout {
             checkbox.addValueChangeListener(e -> {
                 session.setCompleted(e.getValue());
                 studySessionService.save(session);
+                grid.getDataProvider().refreshItem(session);
                 Notification.show(e.getValue() ? "Session marked complete!" : "Session marked incomplete",
                         2000, Notification.Position.BOTTOM_START);
             });
@@ -152,6 +184,13 @@ public class StudySessionsView extends VerticalLayout {
             return new HorizontalLayout(editBtn, deleteBtn);
         }).setHeader("Actions").setFlexGrow(0);
 
+        // Most recent first unless a column is sorted
+        grid.setItems(query -> {
+            Pageable page = GridPaging.pageRequest(query, DEFAULT_SORT);
+            return (courseFilter.getValue() != null
+                    ? studySessionService.findByCourseId(courseFilter.getValue().getId(), page)
+                    : studySessionService.findAll(page)).stream();
+        }).setIdentifierProvider(StudySession::getId);
         grid.setWidthFull();
         grid.setHeight("500px");
         grid.getStyle()
@@ -212,17 +251,14 @@ public class StudySessionsView extends VerticalLayout {
                 LocalDateTime startTime = startTimeField.getValue();
                 int duration = durationField.getValue();
 
-                // Check daily load
-                LoadCheckResult loadResult = studySessionService.checkDailyLoad(
-                        course.getId(), startTime.toLocalDate(), duration);
-
-                // Check for clashes
                 StudySession proposedSession = StudySession.builder()
                         .id(session != null ? session.getId() : null)
                         .startTime(startTime)
                         .durationMinutes(duration)
                         .build();
-                ClashCheckResult clashResult = studySessionService.checkForClashes(course.getId(), proposedSession);
+                SessionValidationResult validation = studySessionService.validateSession(course.getId(), proposedSession);
+                LoadCheckResult loadResult = validation.getLoadCheck();
+                ClashCheckResult clashResult = validation.getClashCheck();
 
                 StringBuilder warnings = new StringBuilder();
                 if (loadResult.isExceedsLimit()) {
@@ -271,6 +307,7 @@ public class StudySessionsView extends VerticalLayout {
                 return;
             }
 
+            List<Object> sortKey = session != null ? sortKey(session) : null;
             StudySession toSave = session != null ? session : new StudySession();
             toSave.setStartTime(startTimeField.getValue());
             toSave.setDurationMinutes(durationField.getValue());
@@ -284,7 +321,11 @@ public class StudySessionsView extends VerticalLayout {
             }
 
             dialog.close();
-            updateGrid();
+            if (session != null && sortKey(toSave).equals(sortKey)) {
+                grid.getDataProvider().refreshItem(toSave);
+            } else {
+                updateGrid();
+            }
             Notification.show("Session saved!", 3000, Notification.Position.BOTTOM_START)
                     .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
         });
@@ -296,22 +337,45 @@ public class StudySessionsView extends VerticalLayout {
     }
 
     private void updateGrid() {
-        List<StudySession> sessions;
-        
-        if (courseFilter.getValue() != null) {
-            sessions = studySessionService.findByCourseId(courseFilter.getValue().getId());
-        } else {
-            sessions = studySessionService.findAll();
+        grid.getDataProvider().refreshAll();
+    }
+
+    /**
+     * Applies changes made elsewhere: sessions updated in place are fetched by ID and only their rows
+     * re-rendered; anything else fetches the rows in view again.
+     */
+    private void applyChanges(List<EntityChangedEvent> changes) {
+        Optional<Set<Long>> updated = LiveUpdates.updatedRows(changes, StudySession.class);
+        if (updated.isEmpty()) {
+            updateGrid();
+            return;
+        }
+        DataKeyMapper<StudySession> shownSessions = grid.getDataCommunicator().getKeyMapper();
+        for (StudySession session : studySessionService.findAllById(updated.get())) {
+            if (!shownSessions.has(session)) {
+                continue;
+            }
+            StudySession shown = shownSessions.get(shownSessions.key(session));
+            if (sortKey(session).equals(sortKey(shown))) {
+                grid.getDataProvider().refreshItem(session);
+            } else {
+                updateGrid();
+            }
         }
-        
-        // Sort by start time (most recent first)
-        sessions.sort((a, b) -> {
-            if (a.getStartTime() == null) return 1;
-            if (b.getStartTime() == null) return -1;
-            return b.getStartTime().compareTo(a.getStartTime());
-        });
-        
-        grid.setItems(sessions);
     }
-}
 
+    /**
+     * Values of the properties the grid is ordered by; an edited session whose key is unchanged
+     * keeps its position, so only its own row is re-rendered.
+     */
+    private List<Object> sortKey(StudySession session) {
+        return GridPaging.sortProperties(grid, DEFAULT_SORT).stream()
+                .<Object>map(property -> switch (property) {
+                    case "startTime" -> session.getStartTime();
+                    case "durationMinutes" -> session.getDurationMinutes();
+                    case "location" -> session.getLocation();
+                    default -> property;
+                })
+                .toList();
+    }
+}
@@ -2,8 +2,12 @@ package ch.unisg.studybuddy.ui;
 
 import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.service.ChangeBroadcaster;
 import ch.unisg.studybuddy.service.CourseService;
+import ch.unisg.studybuddy.service.EntityChangedEvent;
 import ch.unisg.studybuddy.service.TaskService;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -12,6 +16,7 @@ import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridSortOrder;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
@@ -24,14 +29,19 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.DataKeyMapper;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Route(value = "tasks", layout = MainLayout.class)
 @PageTitle("Tasks | StudyBuddy")
@@ -39,15 +49,21 @@ public class TasksView extends VerticalLayout {
 
     private final TaskService taskService;
     private final CourseService courseService;
+    private final ChangeBroadcaster changeBroadcaster;
+
+    private static final Sort DEFAULT_SORT = Sort.by("dueDate");
 
     private Grid<Task> grid = new Grid<>(Task.class, false);
     private ComboBox<Course> courseFilter;
     private Checkbox showCompletedFilter;
+    private Grid.Column<Task> priorityColumn;
+    private Registration liveUpdates;
 
     @Autowired
-    public TasksView(TaskService taskService, CourseService courseService) {
+    public TasksView(TaskService taskService, CourseService courseService, ChangeBroadcaster changeBroadcaster) {
         this.taskService = taskService;
         this.courseService = courseService;
+        this.changeBroadcaster = changeBroadcaster;
 
         addClassName("tasks-view");
         setSizeFull();
@@ -56,8 +72,22 @@ public class TasksView extends VerticalLayout {
         add(createHeader());
         add(createFilters());
         add(createGrid());
+    }
+
+    /**
+     * The grid lists the tasks of all students, so it follows every task and course change.
+     */
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        liveUpdates = LiveUpdates.subscribe(changeBroadcaster, attachEvent.getUI(), null,
+                Set.of(Task.class, Course.class), this::applyChanges);
+    }
 
-        updateGrid();
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        liveUpdates.remove();
+        super.onDetach(detachEvent);
     }
 
     private HorizontalLayout createHeader() {
@@ -89,9 +119,7 @@ public class TasksView extends VerticalLayout {
 
         Button priorityButton = new Button("Sort by Priority", VaadinIcon.SORT.create());
         priorityButton.addClickListener(e -> {
-            Long courseId = courseFilter.getValue() != null ? courseFilter.getValue().getId() : null;
-            List<Task> prioritized = taskService.getTasksByPriority(courseId);
-            grid.setItems(prioritized);
+            grid.sort(GridSortOrder.desc(priorityColumn).build());
             Notification.show("Sorted by priority!", 2000, Notification.Position.BOTTOM_START);
         });
 
@@ -107,22 +135,22 @@ public class TasksView extends VerticalLayout {
             Checkbox checkbox = new Checkbox();
             checkbox.setValue(task.getCompleted());
             checkbox.addValueChangeListener(e -> {
-                if (e.getValue()) {
-                    taskService.markAsCompleted(task.getId());
-                } else {
-                    taskService.markAsIncomplete(task.getId());
-                }
-                updateGrid();
+                Task updated = e.getValue()
+                        ? taskService.markAsCompleted(task.getId())
+                        : taskService.markAsIncomplete(task.getId());
+                task.setCompleted(updated.getCompleted());
+                refreshTask(task, false);
             });
             return checkbox;
         }).setHeader("").setWidth("60px").setFlexGrow(0);
 
-        grid.addColumn(Task::getTitle).setHeader("Title").setFlexGrow(2);
+        grid.addColumn(Task::getTitle).setHeader("Title").setSortProperty("title").setFlexGrow(2);
         
         grid.addColumn(task -> task.getCourse() != null ? task.getCourse().getTitle() : "")
                 .setHeader("Course").setFlexGrow(1);
         
-        grid.addColumn(task -> task.getTaskType().toString()).setHeader("Type").setFlexGrow(1);
+        grid.addColumn(task -> task.getTaskType().toString()).setHeader("Type")
+                .setSortProperty("taskType").setFlexGrow(1);
 
         grid.addComponentColumn(task -> {
             if (task.getDueDate() == null) {
@@ -143,13 +171,17 @@ public class TasksView extends VerticalLayout {
             }
             
             return dateSpan;
-        }).setHeader("Due Date").setFlexGrow(1);
+        }).setHeader("Due Date").setSortProperty("dueDate").setFlexGrow(1);
 
         grid.addColumn(task -> task.getEstimatedEffortHours() + "h")
-                .setHeader("Effort").setWidth("80px").setFlexGrow(0);
-
-        grid.addComponentColumn(task -> {
-            double priority = task.calculatePriorityScore();
+                .setHeader("Effort").setSortProperty("estimatedEffortHours").setWidth("80px").setFlexGrow(0);
+
+        // Shows the stored score the column sorts by, so the badges always follow the sort order;
+        // a row whose score has not been stored yet shows the calculated one
+        priorityColumn = grid.addComponentColumn(task -> {
+            double priority = task.getPriorityScore() != null
+                    ? task.getPriorityScore()
+                    : task.calculatePriorityScore();
             Span badge = new Span(String.format("%.0f", priority));
             badge.getStyle()
                     .set("padding", "2px 8px")
@@ -165,7 +197,7 @@ public class TasksView extends VerticalLayout {
             }
             
             return badge;
-        }).setHeader("Priority").setWidth("80px").setFlexGrow(0);
+        }).setHeader("Priority").setSortProperty("priorityScore").setWidth("80px").setFlexGrow(0);
 
         grid.addComponentColumn(task -> {
             Button editBtn = new Button(new Icon(VaadinIcon.EDIT));
@@ -184,6 +216,11 @@ public class TasksView extends VerticalLayout {
             return new HorizontalLayout(editBtn, deleteBtn);
         }).setHeader("Actions").setFlexGrow(0);
 
+        grid.setItems(query -> {
+            Long courseId = courseFilter.getValue() != null ? courseFilter.getValue().getId() : null;
+            return taskService.findTasks(courseId, showCompletedFilter.getValue(),
+                    GridPaging.pageRequest(query, DEFAULT_SORT)).stream();
+        }).setIdentifierProvider(Task::getId);
         grid.setWidthFull();
         grid.setHeight("500px");
         grid.getStyle()
@@ -249,6 +286,7 @@ public class TasksView extends VerticalLayout {
                 return;
             }
 
+            List<Object> sortKey = task != null ? sortKey(task) : null;
             Task toSave = task != null ? task : new Task();
             toSave.setTitle(titleField.getValue());
             toSave.setDescription(descriptionField.getValue());
@@ -260,10 +298,15 @@ public class TasksView extends VerticalLayout {
                 taskService.createTask(courseField.getValue().getId(), toSave);
             } else {
                 taskService.save(toSave);
+                toSave.updatePriorityScore();
             }
 
             dialog.close();
-            updateGrid();
+            if (task == null) {
+                updateGrid();
+            } else {
+                refreshTask(toSave, !sortKey(toSave).equals(sortKey));
+            }
             Notification.show("Task saved!", 3000, Notification.Position.BOTTOM_START)
                     .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
         });
@@ -275,19 +318,51 @@ public class TasksView extends VerticalLayout {
     }
 
     private void updateGrid() {
-        List<Task> tasks;
-        
-        if (courseFilter.getValue() != null) {
-            tasks = taskService.findByCourseId(courseFilter.getValue().getId());
+        grid.getDataProvider().refreshAll();
+    }
+
+    /**
+     * Re-renders the row of a changed task. The rows in view are only fetched again when the task
+     * moves within the sort order or drops out of the filter.
+     */
+    private void refreshTask(Task task, boolean moved) {
+        if (moved || (task.getCompleted() && !showCompletedFilter.getValue())) {
+            updateGrid();
         } else {
-            tasks = taskService.findAll();
+            grid.getDataProvider().refreshItem(task);
         }
-        
-        if (!showCompletedFilter.getValue()) {
-            tasks = tasks.stream().filter(t -> !t.getCompleted()).toList();
+    }
+
+    /**
+     * Applies changes made elsewhere: tasks updated in place are fetched by ID and only their rows
+     * re-rendered; anything else fetches the rows in view again.
+     */
+    private void applyChanges(List<EntityChangedEvent> changes) {
+        Optional<Set<Long>> updated = LiveUpdates.updatedRows(changes, Task.class);
+        if (updated.isEmpty()) {
+            updateGrid();
+            return;
         }
-        
-        grid.setItems(tasks);
+        DataKeyMapper<Task> shownTasks = grid.getDataCommunicator().getKeyMapper();
+        for (Task task : taskService.findAllById(updated.get())) {
+            if (shownTasks.has(task)) {
+                Task shown = shownTasks.get(shownTasks.key(task));
+                refreshTask(task, !sortKey(task).equals(sortKey(shown)));
+            }
+        }
+    }
+
+    private List<Object> sortKey(Task task) {
+        return GridPaging.sortProperties(grid, DEFAULT_SORT).stream()
+                .<Object>map(property -> switch (property) {
+                    case "title" -> task.getTitle();
+                    case "taskType" -> task.getTaskType();
+                    case "dueDate" -> task.getDueDate();
+                    case "estimatedEffortHours" -> task.getEstimatedEffortHours();
+                    case "priorityScore" -> task.getPriorityScore();
+                    default -> property;
+                })
+                .toList();
     }
 }
 
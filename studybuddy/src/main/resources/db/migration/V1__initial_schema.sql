@@ -0,0 +1,86 @@
+-- Initial schema, matching the entity mappings as of the switch to pooled sequence IDs
+
+CREATE SEQUENCE student_profiles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE courses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_preferences_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_notes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE study_sessions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE student_profiles (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    locale VARCHAR(10),
+    settings VARCHAR(500),
+    CONSTRAINT pk_student_profiles PRIMARY KEY (id),
+    CONSTRAINT uk_student_profiles_email UNIQUE (email)
+);
+
+CREATE TABLE courses (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    term VARCHAR(50),
+    instructor VARCHAR(100),
+    description VARCHAR(500),
+    task_count BIGINT NOT NULL,
+    completed_task_count BIGINT NOT NULL,
+    student_profile_id BIGINT,
+    CONSTRAINT pk_courses PRIMARY KEY (id),
+    CONSTRAINT fk_courses_student_profile FOREIGN KEY (student_profile_id) REFERENCES student_profiles (id)
+);
+
+CREATE TABLE course_preferences (
+    id BIGINT NOT NULL,
+    preferred_daily_workload_minutes INTEGER NOT NULL CHECK (preferred_daily_workload_minutes >= 0),
+    notifications_enabled BOOLEAN NOT NULL,
+    priority_level INTEGER NOT NULL,
+    course_id BIGINT,
+    CONSTRAINT pk_course_preferences PRIMARY KEY (id),
+    CONSTRAINT uk_course_preferences_course UNIQUE (course_id),
+    CONSTRAINT fk_course_preferences_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE course_notes (
+    id BIGINT NOT NULL,
+    summary VARCHAR(5000),
+    key_points VARCHAR(2000),
+    last_updated TIMESTAMP(6),
+    course_id BIGINT,
+    CONSTRAINT pk_course_notes PRIMARY KEY (id),
+    CONSTRAINT uk_course_notes_course UNIQUE (course_id),
+    CONSTRAINT fk_course_notes_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE tasks (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    task_type VARCHAR(255) NOT NULL
+        CHECK (task_type IN ('READING', 'EXERCISE', 'PROJECT', 'EXAM_PREP', 'ASSIGNMENT', 'OTHER')),
+    due_date DATE,
+    estimated_effort_hours INTEGER NOT NULL CHECK (estimated_effort_hours BETWEEN 1 AND 100),
+    completed BOOLEAN NOT NULL,
+    priority_score FLOAT(53),
+    course_id BIGINT NOT NULL,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE INDEX idx_tasks_pending_priority ON tasks (completed, priority_score);
+CREATE INDEX idx_tasks_course_pending_priority ON tasks (course_id, completed, priority_score);
+
+CREATE TABLE study_sessions (
+    id BIGINT NOT NULL,
+    start_time TIMESTAMP(6) NOT NULL,
+    duration_minutes INTEGER NOT NULL CHECK (duration_minutes >= 1),
+    location VARCHAR(200),
+    notes VARCHAR(500),
+    completed BOOLEAN NOT NULL,
+    repeat_every_days INTEGER CHECK (repeat_every_days >= 1),
+    repeat_until DATE,
+    skipped_dates VARCHAR(2000),
+    course_id BIGINT NOT NULL,
+    CONSTRAINT pk_study_sessions PRIMARY KEY (id),
+    CONSTRAINT fk_study_sessions_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
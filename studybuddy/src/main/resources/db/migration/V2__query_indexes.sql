@@ -0,0 +1,9 @@
+-- Indexes for the filter columns of the task, session and course queries
+
+CREATE INDEX idx_tasks_pending_due_date ON tasks (completed, due_date);
+CREATE INDEX idx_tasks_course_pending_due_date ON tasks (course_id, completed, due_date);
+
+CREATE INDEX idx_study_sessions_course_start ON study_sessions (course_id, start_time);
+CREATE INDEX idx_study_sessions_start ON study_sessions (start_time, id);
+
+CREATE INDEX idx_courses_student_profile ON courses (student_profile_id);
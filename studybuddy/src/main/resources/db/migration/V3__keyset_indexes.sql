@@ -0,0 +1,7 @@
+-- Indexes for the keyset pagination by (due date, id) and (start time, id), globally and per course
+
+CREATE INDEX idx_tasks_due_date ON tasks (due_date, id);
+CREATE INDEX idx_tasks_course_due_date ON tasks (course_id, due_date, id);
+
+DROP INDEX idx_study_sessions_course_start;
+CREATE INDEX idx_study_sessions_course_start ON study_sessions (course_id, start_time, id);
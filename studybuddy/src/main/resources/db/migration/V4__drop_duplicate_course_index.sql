@@ -0,0 +1,3 @@
+-- The foreign key on courses.student_profile_id already has an index of its own
+
+DROP INDEX idx_courses_student_profile;
@@ -0,0 +1,66 @@
+package ch.unisg.studybuddy;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.CourseRepository;
+import ch.unisg.studybuddy.persistence.SchemaMigrator;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import ch.unisg.studybuddy.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application the way the prod profile does: schema from the migration scripts,
+ * validated by Hibernate, no sample data.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;DB_CLOSE_DELAY=-1",
+        "studybuddy.schema.migrate=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "studybuddy.seed-data=false"
+})
+@Transactional
+class SchemaMigrationTests {
+
+    @Autowired
+    private SchemaMigrator schemaMigrator;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    @DisplayName("Migrated schema matches the mappings and is only migrated once")
+    void testMigratedSchema_ValidatesAndIsNotReapplied() throws Exception {
+        assertEquals(0, schemaMigrator.migrate());
+        assertEquals(0, studentProfileRepository.count());
+        
+        StudentProfile student = studentProfileRepository.save(StudentProfile.builder()
+                .name("Migrated Student")
+                .email("migrated@unisg.ch")
+                .build());
+        Course course = courseRepository.save(Course.builder()
+                .title("Migrated Course")
+                .studentProfile(student)
+                .build());
+        List<Task> created = taskService.createTasks(course.getId(), List.of(
+                Task.builder().title("First").build(),
+                Task.builder().title("Second").completed(true).build()));
+        
+        assertEquals(2, created.size());
+        assertEquals(50.0, taskService.calculateProgress(course.getId()).getCompletionPercentage());
+    }
+}
@@ -0,0 +1,347 @@
+package ch.unisg.studybuddy.persistence;
+
+import ch.unisg.studybuddy.persistence.StatementRecorder.RecordedStatement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every query the repositories declare, captures the SQL Hibernate generates for it together with
+ * the bound values, and checks with EXPLAIN that it reads through an index instead of scanning a table.
+ * Queries that read a whole table by design are still run and explained, but not checked.
+ *
+ * The planner picks indexes by estimated cost, so the tables are filled first with enough rows for
+ * an index to pay off; on empty tables every plan costs the same.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryindex;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements = {
+        "INSERT INTO student_profiles (id, name, email) " +
+        "SELECT X, 'Student ' || X, 'student' || X || '@unisg.ch' FROM SYSTEM_RANGE(1, 20)",
+        "INSERT INTO courses (id, title, term, task_count, completed_task_count, student_profile_id) " +
+        "SELECT X, 'Course ' || X, 'HS25', 0, 0, MOD(X, 20) + 1 FROM SYSTEM_RANGE(1, 100)",
+        "INSERT INTO course_preferences (id, preferred_daily_workload_minutes, notifications_enabled, priority_level, course_id) " +
+        "SELECT X, 60, TRUE, 1, X FROM SYSTEM_RANGE(1, 100)",
+        "INSERT INTO course_notes (id, summary, course_id) SELECT X, 'Summary', X FROM SYSTEM_RANGE(1, 100)",
+        "INSERT INTO tasks (id, title, task_type, due_date, estimated_effort_hours, completed, priority_score, course_id) " +
+        "SELECT X, 'Task ' || X, 'READING', CASE WHEN MOD(X, 5) <> 0 THEN DATEADD(DAY, MOD(X, 365), DATE '2025-01-01') END, " +
+        "1 + MOD(X, 10), MOD(X, 3) = 0, MOD(X, 120), MOD(X, 100) + 1 FROM SYSTEM_RANGE(1, 5000)",
+        "INSERT INTO study_sessions (id, start_time, duration_minutes, completed, repeat_every_days, course_id) " +
+        "SELECT X, DATEADD(HOUR, X, TIMESTAMP '2025-01-01 08:00:00'), 60, FALSE, " +
+        "CASE WHEN MOD(X, 50) = 0 THEN 7 END, MOD(X, 100) + 1 FROM SYSTEM_RANGE(1, 5000)",
+        "ANALYZE"
+})
+@Transactional
+class QueryIndexTests {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(TaskRepository.class, StudySessionRepository.class,
+            CourseRepository.class, StudentProfileRepository.class, CoursePreferenceRepository.class,
+            CourseNoteRepository.class);
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime START = DAY.atStartOfDay();
+    private static final LocalDateTime END = START.plusDays(1);
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StudySessionRepository studySessionRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private CoursePreferenceRepository coursePreferenceRepository;
+
+    @Autowired
+    private CourseNoteRepository courseNoteRepository;
+
+    @Test
+    @DisplayName("Task queries read through an index")
+    void testTaskQueries_UseIndex() {
+        assertQueries(taskQueries());
+    }
+
+    @Test
+    @DisplayName("Session queries read through an index")
+    void testSessionQueries_UseIndex() {
+        assertQueries(sessionQueries());
+    }
+
+    @Test
+    @DisplayName("Course, student, preference and note queries read through an index")
+    void testCourseAndStudentQueries_UseIndex() {
+        assertQueries(Stream.of(courseQueries(), studentQueries(), courseDetailQueries())
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Every query the repositories declare is checked")
+    void testQueries_AllRepositoryMethodsCovered() {
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                .map(QueryIndexTests::keyOf)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> covered = Stream.of(taskQueries(), sessionQueries(), courseQueries(), studentQueries(),
+                        courseDetailQueries())
+                .flatMap(List::stream)
+                .map(QueryCase::method)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(declared, covered);
+    }
+
+    private List<QueryCase> taskQueries() {
+        TaskRepository tasks = taskRepository;
+        return List.of(
+                fullRead("TaskRepository.findAll/0", tasks::findAll),
+                fullRead("TaskRepository.findAllBy/1", () -> tasks.findAllBy(PAGE)),
+                indexed("TaskRepository.findByCourseId/1", () -> tasks.findByCourseId(1L)),
+                indexed("TaskRepository.findByCourseId/2", () -> tasks.findByCourseId(1L, PAGE)),
+                indexed("TaskRepository.findByIdIn/1", () -> tasks.findByIdIn(List.of(1L, 2L))),
+                indexed("TaskRepository.findByCompleted/2", () -> tasks.findByCompleted(false, PAGE)),
+                indexed("TaskRepository.findByCourseIdAndCompleted/3", () -> tasks.findByCourseIdAndCompleted(1L, false, PAGE)),
+                indexed("TaskRepository.findByCourseIdAndCompleted/2", () -> tasks.findByCourseIdAndCompleted(1L, false)),
+                indexed("TaskRepository.findSummaryById/1", () -> tasks.findSummaryById(1L)),
+                fullRead("TaskRepository.findSummaries/1", () -> tasks.findSummaries(PAGE)),
+                indexed("TaskRepository.findSummariesByCourseId/2", () -> tasks.findSummariesByCourseId(1L, PAGE)),
+                indexed("TaskRepository.findPendingSummariesOrderByPriority/1", "idx_tasks_pending_priority",
+                        () -> tasks.findPendingSummariesOrderByPriority(PAGE)),
+                indexed("TaskRepository.findPendingSummariesByCourseIdOrderByPriority/2", "idx_tasks_course_pending_priority",
+                        () -> tasks.findPendingSummariesByCourseIdOrderByPriority(1L, PAGE)),
+                indexed("TaskRepository.countByCompleted/1", () -> tasks.countByCompleted(false)),
+                indexed("TaskRepository.findByCourseIdOrderByDueDate/1", () -> tasks.findByCourseIdOrderByDueDate(1L)),
+                indexed("TaskRepository.findPendingTasksByStudentId/1", () -> tasks.findPendingTasksByStudentId(1L)),
+                indexed("TaskRepository.findPendingOrderByPriority/1", "idx_tasks_pending_priority",
+                        () -> tasks.findPendingOrderByPriority(PAGE)),
+                indexed("TaskRepository.findPendingByCourseIdOrderByPriority/2", "idx_tasks_course_pending_priority",
+                        () -> tasks.findPendingByCourseIdOrderByPriority(1L, PAGE)),
+                indexed("TaskRepository.findDueAfter/3", "idx_tasks_due_date",
+                        () -> tasks.findDueAfter(DAY, 1L, PAGE)),
+                indexed("TaskRepository.findByCourseIdDueAfter/4", "idx_tasks_course_due_date",
+                        () -> tasks.findByCourseIdDueAfter(1L, DAY, 1L, PAGE)),
+                indexed("TaskRepository.findWithoutDueDateAfter/2", "idx_tasks_due_date",
+                        () -> tasks.findWithoutDueDateAfter(1L, PAGE)),
+                indexed("TaskRepository.findByCourseIdWithoutDueDateAfter/3", "idx_tasks_course_due_date",
+                        () -> tasks.findByCourseIdWithoutDueDateAfter(1L, 1L, PAGE)),
+                indexed("TaskRepository.findPendingByStudentIdOrderByPriority/1",
+                        () -> tasks.findPendingByStudentIdOrderByPriority(1L)),
+                indexed("TaskRepository.findPendingByStudentIdOrderByDueDate/1",
+                        () -> tasks.findPendingByStudentIdOrderByDueDate(1L)),
+                indexed("TaskRepository.findPendingSummariesByStudentIdOrderByPriority/2",
+                        () -> tasks.findPendingSummariesByStudentIdOrderByPriority(1L, PAGE)),
+                // Re-bases the score of every task, so it visits all of them
+                fullRead("TaskRepository.refreshPriorityScores/2", () -> tasks.refreshPriorityScores(DAY, DAY.plusDays(100))),
+                indexed("TaskRepository.findCourseIdsToComplete/2", () -> tasks.findCourseIdsToComplete(List.of(1L, 2L), true)),
+                indexed("TaskRepository.updateCompleted/2", () -> tasks.updateCompleted(List.of(1L, 2L), true)),
+                indexed("TaskRepository.findCourseIdsToComplete/3", () -> tasks.findCourseIdsToComplete(1L, DAY, true)),
+                indexed("TaskRepository.updateCompleted/3", () -> tasks.updateCompleted(1L, DAY, true)),
+                indexed("TaskRepository.findCourseIdsDueBeforeToComplete/2", "idx_tasks_due_date",
+                        () -> tasks.findCourseIdsDueBeforeToComplete(DAY, true)),
+                indexed("TaskRepository.updateCompletedDueBefore/2", "idx_tasks_due_date",
+                        () -> tasks.updateCompletedDueBefore(DAY, true)),
+                indexed("TaskRepository.findByIdForUpdate/1", () -> tasks.findByIdForUpdate(1L)),
+                indexed("TaskRepository.findCounterStateById/1", () -> tasks.findCounterStateById(1L)),
+                indexed("TaskRepository.findOverdueTasks/1", "idx_tasks_pending_due_date",
+                        () -> tasks.findOverdueTasks(DAY)),
+                indexed("TaskRepository.countCompletedByCourseId/1", () -> tasks.countCompletedByCourseId(1L)),
+                indexed("TaskRepository.countByCourseId/1", () -> tasks.countByCourseId(1L)));
+    }
+
+    private List<QueryCase> sessionQueries() {
+        StudySessionRepository sessions = studySessionRepository;
+        return List.of(
+                fullRead("StudySessionRepository.findAll/0", sessions::findAll),
+                fullRead("StudySessionRepository.findAllBy/1", () -> sessions.findAllBy(PAGE)),
+                indexed("StudySessionRepository.findByCourseId/1", () -> sessions.findByCourseId(1L)),
+                indexed("StudySessionRepository.findByCourseId/2", () -> sessions.findByCourseId(1L, PAGE)),
+                indexed("StudySessionRepository.findByIdIn/1", () -> sessions.findByIdIn(List.of(1L, 2L))),
+                indexed("StudySessionRepository.findWithCourseByIdIn/1",
+                        () -> sessions.findWithCourseByIdIn(List.of(1L, 2L))),
+                indexed("StudySessionRepository.findSummaryById/1", () -> sessions.findSummaryById(1L)),
+                fullRead("StudySessionRepository.findSummaries/1", () -> sessions.findSummaries(PAGE)),
+                indexed("StudySessionRepository.findSummariesByCourseId/2", () -> sessions.findSummariesByCourseId(1L, PAGE)),
+                indexed("StudySessionRepository.findAfterOrderByStartTime/3", "idx_study_sessions_start",
+                        () -> sessions.findAfterOrderByStartTime(START, 1L, PAGE)),
+                indexed("StudySessionRepository.findByCourseIdAfterOrderByStartTime/4", "idx_study_sessions_course_start",
+                        () -> sessions.findByCourseIdAfterOrderByStartTime(1L, START, 1L, PAGE)),
+                indexed("StudySessionRepository.findByCourseIdAndDate/3", "idx_study_sessions_course_start",
+                        () -> sessions.findByCourseIdAndDate(1L, START, END)),
+                indexed("StudySessionRepository.findByStudentIdAndDate/3",
+                        () -> sessions.findByStudentIdAndDate(1L, START, END)),
+                indexed("StudySessionRepository.findByCourseIdAndTimeRange/3", "idx_study_sessions_course_start",
+                        () -> sessions.findByCourseIdAndTimeRange(1L, START, END)),
+                indexed("StudySessionRepository.findByStudentIdOverlappingRange/3",
+                        () -> sessions.findByStudentIdOverlappingRange(1L, START, END)),
+                indexed("StudySessionRepository.findByCourseIdOverlappingRange/3", "idx_study_sessions_course_start",
+                        () -> sessions.findByCourseIdOverlappingRange(1L, START, END)),
+                indexed("StudySessionRepository.findSeriesByStudentId/3",
+                        () -> sessions.findSeriesByStudentId(1L, DAY, END)),
+                indexed("StudySessionRepository.findSeriesByCourseId/3", "idx_study_sessions_course_start",
+                        () -> sessions.findSeriesByCourseId(1L, DAY, END)),
+                indexed("StudySessionRepository.sumDurationByCourseIdAndDate/3", "idx_study_sessions_course_start",
+                        () -> sessions.sumDurationByCourseIdAndDate(1L, START, END)),
+                indexed("StudySessionRepository.findSlotsByStudentId/1", () -> sessions.findSlotsByStudentId(1L)),
+                indexed("StudySessionRepository.findSlotsByStudentIdOverlappingRange/3",
+                        () -> sessions.findSlotsByStudentIdOverlappingRange(1L, START, END)),
+                indexed("StudySessionRepository.findSlotById/1", () -> sessions.findSlotById(1L)));
+    }
+
+    private List<QueryCase> courseQueries() {
+        CourseRepository courses = courseRepository;
+        return List.of(
+                fullRead("CourseRepository.findAll/0", courses::findAll),
+                fullRead("CourseRepository.findAllBy/1", () -> courses.findAllBy(PAGE)),
+                indexed("CourseRepository.findByStudentProfileId/1", () -> courses.findByStudentProfileId(1L)),
+                indexed("CourseRepository.findByStudentProfileId/2", () -> courses.findByStudentProfileId(1L, PAGE)),
+                indexed("CourseRepository.findSummaryById/1", () -> courses.findSummaryById(1L)),
+                fullRead("CourseRepository.findSummaries/1", () -> courses.findSummaries(PAGE)),
+                indexed("CourseRepository.findSummariesByStudentProfileId/2",
+                        () -> courses.findSummariesByStudentProfileId(1L, PAGE)),
+                // Every student's courses of a term; nothing calls it, so the term has no index of its own
+                fullRead("CourseRepository.findByTerm/1", () -> courses.findByTerm("HS25")),
+                indexed("CourseRepository.findByStudentAndTerm/2", () -> courses.findByStudentAndTerm(1L, "HS25")),
+                indexed("CourseRepository.existsById/1", () -> courses.existsById(1L)),
+                indexed("CourseRepository.findStudentProfileIdById/1", () -> courses.findStudentProfileIdById(1L)),
+                indexed("CourseRepository.findPersistedStudentProfileIdById/1",
+                        () -> courses.findPersistedStudentProfileIdById(1L)),
+                indexed("CourseRepository.findSchedulingContextById/1", () -> courses.findSchedulingContextById(1L)),
+                indexed("CourseRepository.findSchedulingContextsByStudentId/1",
+                        () -> courses.findSchedulingContextsByStudentId(1L)),
+                indexed("CourseRepository.findTaskCountsById/1", () -> courses.findTaskCountsById(1L)),
+                indexed("CourseRepository.findTaskCountsByStudentId/1", () -> courses.findTaskCountsByStudentId(1L)),
+                indexed("CourseRepository.adjustTaskCounts/3", () -> courses.adjustTaskCounts(1L, 1, 0)),
+                // The reconciliation job recounts and compares every course
+                fullRead("CourseRepository.rebuildTaskCounts/0", courses::rebuildTaskCounts),
+                indexed("CourseRepository.rebuildTaskCounts/1", () -> courses.rebuildTaskCounts(List.of(1L, 2L))),
+                fullRead("CourseRepository.findIdsWithInconsistentTaskCounts/0", courses::findIdsWithInconsistentTaskCounts));
+    }
+
+    private List<QueryCase> studentQueries() {
+        StudentProfileRepository students = studentProfileRepository;
+        return List.of(
+                fullRead("StudentProfileRepository.findAll/0", students::findAll),
+                fullRead("StudentProfileRepository.findAllBy/1", () -> students.findAllBy(PAGE)),
+                indexed("StudentProfileRepository.findSummaryById/1", () -> students.findSummaryById(1L)),
+                indexed("StudentProfileRepository.findSummaryByEmail/1", () -> students.findSummaryByEmail("a@unisg.ch")),
+                fullRead("StudentProfileRepository.findSummaries/1", () -> students.findSummaries(PAGE)),
+                indexed("StudentProfileRepository.findByEmail/1", () -> students.findByEmail("a@unisg.ch")),
+                indexed("StudentProfileRepository.findFirstId/0", students::findFirstId),
+                indexed("StudentProfileRepository.existsByEmail/1", () -> students.existsByEmail("a@unisg.ch")));
+    }
+
+    private List<QueryCase> courseDetailQueries() {
+        return List.of(
+                indexed("CoursePreferenceRepository.findByCourseId/1", () -> coursePreferenceRepository.findByCourseId(1L)),
+                indexed("CourseNoteRepository.findByCourseId/1", () -> courseNoteRepository.findByCourseId(1L)));
+    }
+
+    private void assertQueries(List<QueryCase> cases) {
+        assertAll(cases.stream().map(queryCase -> (Executable) () -> assertQuery(queryCase)));
+    }
+
+    private void assertQuery(QueryCase queryCase) {
+        // The query cache would answer a repeated cacheable query without any SQL
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        List<RecordedStatement> statements = statementRecorder.record(queryCase.call());
+        assertFalse(statements.isEmpty(), () -> queryCase.method() + " sent no SQL");
+
+        String plans = statements.stream().map(this::explain).collect(Collectors.joining("\n"));
+        if (!queryCase.checked()) {
+            return;
+        }
+        assertFalse(plans.contains("tableScan"), () -> queryCase.method() + " scans a table:\n" + plans);
+        if (queryCase.index() != null) {
+            assertTrue(plans.contains(queryCase.index().toUpperCase()),
+                    () -> queryCase.method() + " does not use " + queryCase.index() + ":\n" + plans);
+        }
+    }
+
+    private String explain(RecordedStatement statement) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN ");
+                 ResultSet plan = explain.executeQuery()) {
+                assertTrue(plan.next());
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private static String keyOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "/" + method.getParameterCount();
+    }
+
+    /**
+     * A query whose plan must not scan a table, and that uses the given index if one is named.
+     */
+    private static QueryCase indexed(String method, String index, Runnable call) {
+        return new QueryCase(method, call, true, index);
+    }
+
+    /**
+     * A lookup by primary key, unique key or foreign key, served by the index the constraint brings.
+     */
+    private static QueryCase indexed(String method, Runnable call) {
+        return new QueryCase(method, call, true, null);
+    }
+
+    private static QueryCase fullRead(String method, Runnable call) {
+        return new QueryCase(method, call, false, null);
+    }
+
+    private record QueryCase(String method, Runnable call, boolean checked, String index) {
+    }
+}
@@ -0,0 +1,114 @@
+package ch.unisg.studybuddy.persistence;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.Task;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with a replica pool on the same in-memory database; replica connections mark their H2 session
+ * so a query can tell which pool it was routed to.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "studybuddy.datasource.replica.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "studybuddy.datasource.replica.hikari.connection-init-sql=SET @POOL = 'replica'",
+        "studybuddy.seed-data=false"
+})
+class ReadOnlyTransactionTests {
+
+    private static final String POOL_QUERY = "SELECT @POOL";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Long courseId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            StudentProfile student = studentProfileRepository.save(StudentProfile.builder()
+                    .name("Routing Student")
+                    .email("routing-" + System.nanoTime() + "@unisg.ch")
+                    .build());
+            Course course = courseRepository.save(Course.builder()
+                    .title("Routing Course")
+                    .studentProfile(student)
+                    .build());
+            Task task = taskRepository.save(Task.builder()
+                    .title("Routing Task")
+                    .course(course)
+                    .build());
+            courseId = course.getId();
+            taskId = task.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("Read-only transactions run on the replica pool with flushing and dirty checking off")
+    void testReadOnlyTransaction_UsesReplicaWithoutFlush() {
+        assertNull(readWrite.execute(status -> jdbcTemplate.queryForObject(POOL_QUERY, String.class)));
+
+        readOnly.executeWithoutResult(status -> {
+            assertEquals("replica", jdbcTemplate.queryForObject(POOL_QUERY, String.class));
+
+            Session session = entityManager.unwrap(Session.class);
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            assertTrue(session.isReadOnly(task));
+            task.setTitle("Changed in a read-only transaction");
+        });
+
+        assertEquals("Routing Task", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("List queries load read-only entities inside read-write transactions")
+    void testListQueries_LoadReadOnlyEntities() {
+        readWrite.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertEquals(FlushMode.AUTO, session.getHibernateFlushMode());
+
+            Task listed = taskRepository.findByCourseId(courseId).get(0);
+            assertTrue(session.isReadOnly(listed));
+            session.clear();
+
+            Task loaded = taskRepository.findById(taskId).orElseThrow();
+            assertFalse(session.isReadOnly(loaded));
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package ch.unisg.studybuddy.persistence;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrator against scripts of its own, the second of which fails after its first statement.
+ */
+class SchemaMigratorTest {
+
+    @Test
+    @DisplayName("A failed script leaves its version marked dirty and later migrations refuse to run")
+    void testFailedScript_LeavesDirtyMarker() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:failingmigration;DB_CLOSE_DELAY=-1");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, "classpath:db/failing/V*__*.sql");
+
+        IllegalStateException failed = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(failed.getMessage().startsWith("Schema version 2 (add note index) failed"), failed.getMessage());
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, success FROM schema_version ORDER BY version")) {
+            Map<Integer, Boolean> versions = new LinkedHashMap<>();
+            while (rows.next()) {
+                versions.put(rows.getInt(1), rows.getBoolean(2));
+            }
+            assertEquals(Map.of(1, true, 2, false), versions);
+        }
+
+        IllegalStateException dirty = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(dirty.getMessage().startsWith("Schema version 2 was left partially applied"), dirty.getMessage());
+    }
+}
@@ -0,0 +1,144 @@
+package ch.unisg.studybuddy.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps the application's data source so a test can capture the statements an action prepares,
+ * with the values bound to them, and prepare them again under EXPLAIN.
+ */
+final class StatementRecorder implements BeanPostProcessor {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+            return new RecordingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Runs the action and returns the statements it prepared, in order.
+     */
+    List<RecordedStatement> record(Runnable action) {
+        statements.clear();
+        recording = true;
+        try {
+            action.run();
+            return List.copyOf(statements);
+        } finally {
+            recording = false;
+        }
+    }
+
+    /**
+     * A prepared statement as Hibernate sent it; {@link #prepare} binds the same values to a variant of it.
+     */
+    static final class RecordedStatement {
+
+        private final String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        String sql() {
+            return sql;
+        }
+
+        PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Binding binding : bindings) {
+                invoke(binding.setter(), statement, binding.args());
+            }
+            return statement;
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("equals")) {
+                            return proxy == args[0];
+                        }
+                        if (method.getName().equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        Object result = invoke(method, connection, args);
+                        if (recording && method.getName().equals("prepareStatement")) {
+                            RecordedStatement statement = new RecordedStatement((String) args[0]);
+                            statements.add(statement);
+                            return binding((PreparedStatement) result, statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement binding(PreparedStatement target, RecordedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && method.getParameterTypes()[0] == int.class) {
+                            statement.bindings.add(new Binding(method, args.clone()));
+                        }
+                        return invoke(method, target, args);
+                    });
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
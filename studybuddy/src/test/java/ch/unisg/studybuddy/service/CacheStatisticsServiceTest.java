@@ -0,0 +1,132 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.CoursePreference;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.CourseRepository;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import ch.unisg.studybuddy.service.dto.CacheRegionStatistics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cached entities and queries are only shared once their transaction commits, so these tests commit
+ * their data through a {@link TransactionTemplate} on a database of their own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        courseId = transaction.execute(status -> {
+            StudentProfile student = studentProfileRepository.save(StudentProfile.builder()
+                    .name("Cache Student")
+                    .email("cache-" + System.nanoTime() + "@unisg.ch")
+                    .build());
+            Course course = courseRepository.save(Course.builder()
+                    .title("Cache Course")
+                    .studentProfile(student)
+                    .build());
+            course.setCoursePreference(CoursePreference.builder()
+                    .preferredDailyWorkloadMinutes(90)
+                    .build());
+            return course.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("Repeated session checks read the course preference from the cache, also after task writes")
+    void testSessionChecks_ServedFromCache() {
+        StudySession proposal = StudySession.builder()
+                .startTime(LocalDateTime.now().plusDays(2).withHour(10))
+                .durationMinutes(30)
+                .build();
+        LocalDate day = proposal.getStartTime().toLocalDate();
+        studySessionService.validateSession(courseId, proposal);
+        studySessionService.checkDailyLoad(courseId, day, 30);
+        // The pooled sequence optimizer reads the sequence twice before its first block of IDs is ready
+        taskService.createTask(courseId, Task.builder().title("First").build());
+        taskService.createTask(courseId, Task.builder().title("Second").build());
+
+        assertEquals(0, count(() -> studySessionService.validateSession(courseId, proposal)));
+        assertEquals(0, count(() -> studySessionService.checkDailyLoad(courseId, day, 30)));
+
+        // Insert and counter update only: the course is neither loaded nor evicted
+        assertEquals(2, count(() -> taskService.createTask(courseId, Task.builder().title("Cached").build())));
+        assertEquals(0, count(() -> studySessionService.checkDailyLoad(courseId, day, 30)));
+
+        CacheRegionStatistics preferences = cacheStatisticsService.getRegionStatistics().stream()
+                .filter(region -> region.getRegion().equals(CoursePreference.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(preferences.getHitCount() > 0);
+        assertTrue(preferences.getHitRatio() > 0.0);
+    }
+
+    @Test
+    @DisplayName("Saving a preference replaces the cached one")
+    void testSavePreference_InvalidatesCache() {
+        LocalDate day = LocalDate.now().plusDays(3);
+        assertEquals(90, studySessionService.checkDailyLoad(courseId, day, 30).getDailyLimitMinutes());
+
+        CoursePreference preference = courseService.findPreferenceByCourseId(courseId).orElseThrow();
+        preference.setPreferredDailyWorkloadMinutes(45);
+        courseService.savePreference(courseId, preference);
+
+        assertEquals(45, studySessionService.checkDailyLoad(courseId, day, 30).getDailyLimitMinutes());
+        assertEquals(45, studySessionService.validateSession(courseId, StudySession.builder()
+                .startTime(day.atTime(10, 0))
+                .durationMinutes(30)
+                .build()).getLoadCheck().getDailyLimitMinutes());
+    }
+
+    private long count(Runnable action) {
+        Supplier<Long> counted = () -> new QueryCounter(entityManager).count(action);
+        return transaction.execute(status -> counted.get());
+    }
+}
@@ -0,0 +1,102 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes are broadcast once a write commits, so these tests call the services without a surrounding
+ * transaction, on a database of their own. The coalesce window is long enough never to end during a
+ * test; the tests flush the pending batch themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:broadcaster;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false",
+        "studybuddy.live-updates.coalesce-window=1h"
+})
+class ChangeBroadcasterTest {
+
+    @Autowired
+    private ChangeBroadcaster changeBroadcaster;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    private final Queue<List<EntityChangedEvent>> batches = new ConcurrentLinkedQueue<>();
+    private Runnable unsubscribe;
+    private Long studentId;
+    private Long courseId;
+    private Long otherCourseId;
+
+    @BeforeEach
+    void setUp() {
+        studentId = newStudent("Broadcast Student");
+        courseId = courseService.createCourse(studentId, Course.builder().title("Broadcast Course").build()).getId();
+        otherCourseId = courseService.createCourse(newStudent("Other Student"),
+                Course.builder().title("Other Course").build()).getId();
+        changeBroadcaster.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+        }
+    }
+
+    @Test
+    @DisplayName("A burst of committed writes reaches the student's subscriber as one batch")
+    void testBroadcast_Burst_DeliveredAsOneBatch() {
+        unsubscribe = changeBroadcaster.subscribe(studentId, batches::add);
+
+        Task first = taskService.createTask(courseId, Task.builder().title("First").build());
+        Task second = taskService.createTask(courseId, Task.builder().title("Second").build());
+        taskService.createTask(otherCourseId, Task.builder().title("Unrelated").build());
+        taskService.markAsCompleted(first.getId());
+
+        changeBroadcaster.flush();
+
+        assertEquals(List.of(List.of(
+                EntityChangedEvent.created(Task.class, first.getId(), courseId),
+                EntityChangedEvent.created(Task.class, second.getId(), courseId),
+                EntityChangedEvent.updated(Task.class, first.getId(), courseId))), List.copyOf(batches));
+    }
+
+    @Test
+    @DisplayName("An unsubscribed listener receives no further changes")
+    void testBroadcast_Unsubscribed_NothingDelivered() {
+        unsubscribe = changeBroadcaster.subscribe(studentId, batches::add);
+        changeBroadcaster.subscribe(null, batches::add).run();
+
+        taskService.createTask(otherCourseId, Task.builder().title("Unseen").build());
+        changeBroadcaster.flush();
+
+        assertTrue(batches.isEmpty());
+    }
+
+    private Long newStudent(String name) {
+        return studentProfileRepository.save(StudentProfile.builder()
+                .name(name)
+                .email("broadcast-" + System.nanoTime() + "@unisg.ch")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,91 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Day totals are dropped when a write completes, so these tests run their transactions themselves,
+ * on a database of their own, and read the totals from a second thread while a write is still open.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dailyminutes;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+class DailyMinutesCacheTest {
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long courseId;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        Long studentId = studentProfileRepository.save(StudentProfile.builder()
+                .name("Minutes Student")
+                .email("minutes-" + System.nanoTime() + "@unisg.ch")
+                .build()).getId();
+        courseId = courseService.createCourse(studentId, Course.builder().title("Minutes Course").build()).getId();
+        day = LocalDate.now().plusDays(1);
+        // Caches the empty day
+        assertEquals(0, minutes());
+    }
+
+    @Test
+    @DisplayName("A written session counts for its own transaction and for others only after it commits")
+    void testWrite_CountedForOthersAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            studySessionService.createSession(courseId, session());
+
+            assertEquals(45, minutes());
+            assertEquals(0, CompletableFuture.supplyAsync(this::minutes).join());
+        });
+
+        assertEquals(45, minutes());
+    }
+
+    @Test
+    @DisplayName("A rolled-back session is not counted")
+    void testWrite_RolledBack_NotCounted() {
+        transactionTemplate.executeWithoutResult(status -> {
+            studySessionService.createSession(courseId, session());
+            assertEquals(45, minutes());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, minutes());
+    }
+
+    private int minutes() {
+        return studySessionService.getTotalMinutesForCourseOnDate(courseId, day);
+    }
+
+    private StudySession session() {
+        return StudySession.builder()
+                .startTime(day.atTime(10, 0))
+                .durationMinutes(45)
+                .build();
+    }
+}
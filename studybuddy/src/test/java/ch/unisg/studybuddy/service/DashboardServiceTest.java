@@ -0,0 +1,103 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import ch.unisg.studybuddy.service.dto.DashboardSnapshot;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshots are dropped when a write commits, so these tests call the services without a surrounding
+ * transaction, on a database of their own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        studentId = newStudent("Dashboard Student");
+        courseId = courseService.createCourse(studentId, Course.builder().title("Dashboard Course").build()).getId();
+    }
+
+    @Test
+    @DisplayName("Snapshot is computed once and dropped by writes to the student's data only")
+    void testSnapshot_CachedUntilStudentDataChanges() {
+        Task task = taskService.createTask(courseId, Task.builder()
+                .title("Read chapter")
+                .dueDate(LocalDate.now().plusDays(1))
+                .build());
+
+        DashboardSnapshot first = dashboardService.getSnapshot(studentId);
+        assertEquals(1, first.getCourseCount());
+        assertEquals(1, first.getPendingTasks());
+        assertEquals(List.of(task.getId()), first.getPriorityTasks().stream().map(TaskSummary::getId).toList());
+        assertSame(first, dashboardService.getSnapshot(studentId));
+
+        Long otherCourseId = courseService.createCourse(newStudent("Other Student"),
+                Course.builder().title("Other Course").build()).getId();
+        taskService.createTask(otherCourseId, Task.builder().title("Unrelated").build());
+        assertSame(first, dashboardService.getSnapshot(studentId));
+
+        taskService.markAsCompleted(task.getId());
+        DashboardSnapshot completed = dashboardService.getSnapshot(studentId);
+        assertEquals(0, completed.getPendingTasks());
+        assertEquals(1, completed.getCompletedTasks());
+        assertTrue(completed.getPriorityTasks().isEmpty());
+
+        studySessionService.createSession(courseId, StudySession.builder()
+                .startTime(LocalDateTime.now().withHour(23).withMinute(0))
+                .durationMinutes(30)
+                .build());
+        assertEquals(1, dashboardService.getSnapshot(studentId).getSessionsToday());
+
+        courseService.createCourse(studentId, Course.builder().title("Second Course").build());
+        assertEquals(2, dashboardService.getSnapshot(studentId).getCourseCount());
+    }
+
+    @Test
+    @DisplayName("Snapshot of an unknown student is rejected")
+    void testSnapshot_UnknownStudent_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> dashboardService.getSnapshot(999999L));
+    }
+
+    private Long newStudent(String name) {
+        return studentProfileRepository.save(StudentProfile.builder()
+                .name(name)
+                .email("dashboard-" + System.nanoTime() + "@unisg.ch")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,36 @@
+package ch.unisg.studybuddy.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the SQL statements an action sends, so tests can pin down the number of selects
+ * a read issues and N+1 loading cannot creep back in.
+ */
+final class QueryCounter {
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    QueryCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Runs the action on an empty persistence context and returns the number of statements it prepared.
+     */
+    long count(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
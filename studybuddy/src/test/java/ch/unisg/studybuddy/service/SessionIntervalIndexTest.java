@@ -0,0 +1,125 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The index changes when a write commits, so these tests run their transactions themselves, on a
+ * database of their own, and look at the index from a second thread while a write is still open.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sessionindex;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+class SessionIntervalIndexTest {
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long studentId;
+    private Long courseId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        studentId = newStudent();
+        courseId = courseService.createCourse(studentId, Course.builder().title("Index Course").build()).getId();
+        start = LocalDate.now().plusDays(1).atTime(9, 0);
+        // Loads the student's (empty) slots into the index
+        assertFalse(hasClash());
+    }
+
+    @Test
+    @DisplayName("A written session is seen by its own transaction and by others only after it commits")
+    void testWrite_VisibleToOthersAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            studySessionService.createSession(courseId, session());
+
+            assertTrue(hasClash());
+            assertFalse(CompletableFuture.supplyAsync(this::hasClash).join());
+        });
+
+        assertTrue(hasClash());
+    }
+
+    @Test
+    @DisplayName("A rolled-back session leaves no slot behind")
+    void testWrite_RolledBack_NotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            studySessionService.createSession(courseId, session());
+            assertTrue(hasClash());
+            status.setRollbackOnly();
+        });
+
+        assertFalse(hasClash());
+    }
+
+    @Test
+    @DisplayName("The sessions of a course moved to another student count for that student only")
+    void testCourseMoved_SlotsFollowCourse() {
+        Long otherStudentId = newStudent();
+        Long otherCourseId = courseService.createCourse(otherStudentId,
+                Course.builder().title("Other Course").build()).getId();
+        Long remainingCourseId = courseService.createCourse(studentId,
+                Course.builder().title("Remaining Course").build()).getId();
+        studySessionService.createSession(courseId, session());
+        assertTrue(hasClash(remainingCourseId));
+        assertFalse(hasClash(otherCourseId));
+
+        Course course = courseService.findById(courseId).orElseThrow();
+        course.setStudentProfile(studentProfileRepository.findById(otherStudentId).orElseThrow());
+        courseService.save(course);
+
+        assertFalse(hasClash(remainingCourseId));
+        assertTrue(hasClash(otherCourseId));
+    }
+
+    private Long newStudent() {
+        return studentProfileRepository.save(StudentProfile.builder()
+                .name("Index Student")
+                .email("index-" + System.nanoTime() + "@unisg.ch")
+                .build()).getId();
+    }
+
+    private boolean hasClash() {
+        return hasClash(courseId);
+    }
+
+    private boolean hasClash(Long courseId) {
+        StudySession proposal = StudySession.builder()
+                .startTime(start.plusMinutes(30))
+                .durationMinutes(60)
+                .build();
+        return studySessionService.checkForClashes(courseId, proposal).isHasClash();
+    }
+
+    private StudySession session() {
+        return StudySession.builder()
+                .startTime(start)
+                .durationMinutes(60)
+                .build();
+    }
+}
@@ -4,21 +4,35 @@ import ch.unisg.studybuddy.model.Course;
 import ch.unisg.studybuddy.model.CoursePreference;
 import ch.unisg.studybuddy.model.StudentProfile;
 import ch.unisg.studybuddy.model.StudySession;
+import ch.unisg.studybuddy.model.Task;
 import ch.unisg.studybuddy.persistence.CoursePreferenceRepository;
 import ch.unisg.studybuddy.persistence.CourseRepository;
 import ch.unisg.studybuddy.persistence.StudentProfileRepository;
 import ch.unisg.studybuddy.persistence.StudySessionRepository;
+import ch.unisg.studybuddy.persistence.TaskRepository;
 import ch.unisg.studybuddy.service.dto.ClashCheckResult;
+import ch.unisg.studybuddy.service.dto.FreeSlot;
 import ch.unisg.studybuddy.service.dto.LoadCheckResult;
+import ch.unisg.studybuddy.service.dto.SessionValidationResult;
+import ch.unisg.studybuddy.service.dto.StudyPlanResult;
+import ch.unisg.studybuddy.service.dto.StudySessionSummary;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +55,15 @@ class StudySessionServiceTest {
     @Autowired
     private StudentProfileRepository studentProfileRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StudyPlanService studyPlanService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private StudentProfile testStudent;
     private Course testCourse;
 
@@ -146,6 +169,36 @@ class StudySessionServiceTest {
         assertEquals(120, result.getTotalMinutes());
     }
 
+    @Test
+    @DisplayName("Daily minutes follow created, moved and deleted sessions")
+    void testDailyLoadCheck_TotalsFollowWrites() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        assertEquals(0, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow));
+        
+        StudySession first = studySessionService.createSession(testCourse.getId(), StudySession.builder()
+                .startTime(tomorrow.atTime(9, 0))
+                .durationMinutes(45)
+                .build());
+        studySessionService.createSession(testCourse.getId(), StudySession.builder()
+                .startTime(tomorrow.atTime(14, 0))
+                .durationMinutes(30)
+                .build());
+        assertEquals(75, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow));
+        
+        first.setDurationMinutes(60);
+        studySessionService.save(first);
+        assertEquals(90, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow));
+        
+        first.setStartTime(tomorrow.plusDays(1).atTime(9, 0));
+        studySessionService.save(first);
+        assertEquals(30, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow));
+        assertEquals(60, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow.plusDays(1)));
+        
+        studySessionService.deleteById(first.getId());
+        assertEquals(0, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), tomorrow.plusDays(1)));
+        assertFalse(studySessionService.checkDailyLoad(testCourse.getId(), tomorrow, 90).isExceedsLimit());
+    }
+
     @Test
     @DisplayName("Non-overlapping sessions return no clash")
     void testClashDetection_NoOverlap_ReturnsNoClash() {
@@ -269,5 +322,423 @@ class StudySessionServiceTest {
         assertTrue(result.isHasClash());
         assertEquals(2, result.getClashingSessions().size());
     }
-}
 
+    @Test
+    @DisplayName("Clash with another course of the same student detected")
+    void testClashDetection_OtherCourseOfStudent_ReturnsClash() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        LocalDateTime baseTime = LocalDateTime.now().withHour(9).withMinute(0);
+        
+        StudySession existingSession = StudySession.builder()
+                .course(otherCourse)
+                .startTime(baseTime)
+                .durationMinutes(60)
+                .build();
+        studySessionRepository.save(existingSession);
+        
+        StudySession proposedSession = StudySession.builder()
+                .startTime(baseTime.plusMinutes(30))
+                .durationMinutes(60)
+                .build();
+        
+        ClashCheckResult result = studySessionService.checkForClashes(testCourse.getId(), proposedSession);
+        
+        assertTrue(result.isHasClash());
+        assertEquals(1, result.getClashingSessions().size());
+        assertTrue(result.getWarningMessage().contains("Other Course"));
+    }
+
+    @Test
+    @DisplayName("Session spanning midnight clashes with next morning")
+    void testClashDetection_AcrossMidnight_ReturnsClash() {
+        LocalDateTime lateEvening = LocalDate.now().atTime(23, 0);
+        
+        StudySession existingSession = StudySession.builder()
+                .course(testCourse)
+                .startTime(lateEvening)
+                .durationMinutes(120)
+                .build();
+        studySessionRepository.save(existingSession);
+        
+        StudySession proposedSession = StudySession.builder()
+                .startTime(lateEvening.plusMinutes(90))
+                .durationMinutes(30)
+                .build();
+        
+        ClashCheckResult result = studySessionService.checkForClashes(testCourse.getId(), proposedSession);
+        
+        assertTrue(result.isHasClash());
+        assertEquals(1, result.getClashingSessions().size());
+    }
+
+    @Test
+    @DisplayName("Batch clash check finds clashes with existing sessions and among proposals")
+    void testClashDetection_Batch_FindsExistingAndMutualClashes() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        LocalDateTime baseTime = LocalDate.now().plusDays(1).atTime(9, 0);
+        
+        StudySession existingSession = studySessionRepository.save(StudySession.builder()
+                .course(testCourse)
+                .startTime(baseTime)
+                .durationMinutes(60)
+                .build());
+        StudySession movedSession = studySessionRepository.save(StudySession.builder()
+                .course(testCourse)
+                .startTime(baseTime.minusHours(2))
+                .durationMinutes(60)
+                .build());
+        
+        List<StudySession> proposals = List.of(
+                StudySession.builder().course(Course.builder().id(testCourse.getId()).build())
+                        .startTime(baseTime.plusMinutes(30)).durationMinutes(60).build(),
+                StudySession.builder().course(Course.builder().id(otherCourse.getId()).build())
+                        .startTime(baseTime.plusMinutes(75)).durationMinutes(45).build(),
+                StudySession.builder().course(Course.builder().id(testCourse.getId()).build())
+                        .startTime(baseTime.plusHours(4)).durationMinutes(60).build(),
+                StudySession.builder().id(movedSession.getId()).course(Course.builder().id(testCourse.getId()).build())
+                        .startTime(baseTime.plusHours(3)).durationMinutes(60).build());
+        
+        List<ClashCheckResult> results = studySessionService.checkForClashes(proposals);
+        
+        assertEquals(4, results.size());
+        assertEquals(List.of(StudySessionSummary.of(existingSession)), results.get(0).getClashingSessions());
+        assertEquals(List.of(StudySessionSummary.of(proposals.get(1))), results.get(0).getClashingProposals());
+        assertTrue(results.get(1).getClashingSessions().isEmpty());
+        assertEquals(List.of(StudySessionSummary.of(proposals.get(0))), results.get(1).getClashingProposals());
+        assertTrue(results.get(1).getWarningMessage().contains("1 other proposed session(s): Test Course"));
+        assertFalse(results.get(1).getWarningMessage().contains("existing"));
+        assertFalse(results.get(2).isHasClash());
+        assertFalse(results.get(3).isHasClash());
+        
+        assertThrows(IllegalArgumentException.class, () -> studySessionService.checkForClashes(List.of(
+                StudySession.builder().course(Course.builder().id(-1L).build())
+                        .startTime(baseTime).durationMinutes(60).build())));
+    }
+
+    @Test
+    @DisplayName("Free slots skip sessions of all courses and end at midnight")
+    void testFindFreeSlots_SkipsSessionsAndSplitsAtMidnight() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        LocalDateTime baseTime = LocalDate.now().plusDays(1).atTime(8, 0);
+        
+        studySessionRepository.save(StudySession.builder()
+                .course(testCourse)
+                .startTime(baseTime.plusHours(1))
+                .durationMinutes(90)
+                .build());
+        studySessionRepository.save(StudySession.builder()
+                .course(otherCourse)
+                .startTime(baseTime.plusHours(3))
+                .durationMinutes(60)
+                .build());
+        
+        List<FreeSlot> freeSlots = studySessionService.findFreeSlots(
+                testStudent.getId(), baseTime, baseTime.plusHours(5), 45);
+        
+        assertEquals(List.of(FreeSlot.of(baseTime, baseTime.plusHours(1)),
+                FreeSlot.of(baseTime.plusHours(4), baseTime.plusHours(5))), freeSlots);
+        assertEquals(3, studySessionService.findFreeSlots(
+                testStudent.getId(), baseTime, baseTime.plusHours(5), 15).size());
+        
+        LocalDateTime lateEvening = baseTime.withHour(22);
+        assertEquals(List.of(FreeSlot.of(lateEvening, lateEvening.plusHours(2)),
+                        FreeSlot.of(lateEvening.plusHours(2), lateEvening.plusHours(4))),
+                studySessionService.findFreeSlots(testStudent.getId(), lateEvening, lateEvening.plusHours(4), 60));
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> studySessionService.findFreeSlots(testStudent.getId(), baseTime, baseTime, 15));
+    }
+
+    @Test
+    @DisplayName("Study plan covers tasks before their due dates within free time and daily limits")
+    void testGeneratePlan_RespectsDeadlinesClashesAndLimits() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        
+        studySessionRepository.save(StudySession.builder()
+                .course(otherCourse)
+                .startTime(firstDay.atTime(8, 0))
+                .durationMinutes(120)
+                .build());
+        Task essay = taskRepository.save(Task.builder()
+                .title("Essay")
+                .dueDate(firstDay.plusDays(2))
+                .estimatedEffortHours(3)
+                .course(testCourse)
+                .build());
+        Task exercises = taskRepository.save(Task.builder()
+                .title("Exercises")
+                .dueDate(firstDay.plusDays(1))
+                .estimatedEffortHours(4)
+                .course(otherCourse)
+                .build());
+        
+        StudyPlanResult plan = studyPlanService.generatePlan(testStudent.getId(), firstDay, firstDay.plusDays(4));
+        
+        assertFalse(plan.isTimedOut());
+        assertEquals(180, plan.getPlannedMinutes());
+        assertEquals(List.of(exercises.getId()), plan.getUnplannedTaskIds());
+        assertEquals(240, plan.getUnplannedMinutes());
+        
+        Map<LocalDate, Integer> minutesPerDay = new HashMap<>();
+        List<StudySession> proposals = new ArrayList<>();
+        for (StudySessionSummary session : plan.getProposedSessions()) {
+            assertEquals(testCourse.getId(), session.getCourseId());
+            assertFalse(session.getStartTime().plusMinutes(session.getDurationMinutes())
+                    .isAfter(essay.getDueDate().atStartOfDay()));
+            minutesPerDay.merge(session.getStartTime().toLocalDate(), session.getDurationMinutes(), Integer::sum);
+            proposals.add(StudySession.builder()
+                    .course(Course.builder().id(session.getCourseId()).build())
+                    .startTime(session.getStartTime())
+                    .durationMinutes(session.getDurationMinutes())
+                    .build());
+        }
+        assertTrue(minutesPerDay.values().stream().allMatch(minutes -> minutes <= 120));
+        assertTrue(studySessionService.checkForClashes(proposals).stream()
+                .noneMatch(ClashCheckResult::isHasClash));
+    }
+
+    @Test
+    @DisplayName("Weekly session is expanded for queries, clash checks, daily totals and free slots")
+    void testRecurringSession_ExpandedPerQueriedWindow() {
+        LocalDateTime firstStart = LocalDate.now().plusDays(1).atTime(18, 0);
+        LocalDate firstDay = firstStart.toLocalDate();
+        
+        StudySession weekly = studySessionService.createSession(testCourse.getId(), StudySession.builder()
+                .startTime(firstStart)
+                .durationMinutes(60)
+                .repeatEveryDays(7)
+                .repeatUntil(firstDay.plusDays(35))
+                .skippedDates(new ArrayList<>(List.of(firstDay.plusDays(14))))
+                .build());
+        
+        List<StudySession> secondWeek = studySessionService.findByStudentIdAndDate(testStudent.getId(), firstDay.plusDays(7));
+        assertEquals(1, secondWeek.size());
+        assertTrue(secondWeek.get(0).isOccurrence());
+        assertEquals(weekly.getId(), secondWeek.get(0).getId());
+        assertEquals(firstStart.plusDays(7), secondWeek.get(0).getStartTime());
+        assertEquals(List.of(StudySessionSummary.of(secondWeek.get(0))),
+                studySessionService.findSummariesByStudentIdAndDate(testStudent.getId(), firstDay.plusDays(7)));
+        assertTrue(studySessionService.findByStudentIdAndDate(testStudent.getId(), firstDay.plusDays(14)).isEmpty());
+        assertTrue(studySessionService.findByStudentIdAndDate(testStudent.getId(), firstDay.plusDays(8)).isEmpty());
+        assertEquals(5, studySessionService.findByCourseIdAndTimeRange(
+                testCourse.getId(), firstStart, firstStart.plusDays(60)).size());
+        
+        assertEquals(60, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), firstDay.plusDays(7)));
+        assertEquals(0, studySessionService.getTotalMinutesForCourseOnDate(testCourse.getId(), firstDay.plusDays(14)));
+        
+        StudySession probe = StudySession.builder()
+                .startTime(firstStart.plusDays(21).plusMinutes(30))
+                .durationMinutes(60)
+                .build();
+        ClashCheckResult clash = studySessionService.checkForClashes(testCourse.getId(), probe);
+        assertTrue(clash.isHasClash());
+        assertEquals(firstStart.plusDays(21), clash.getClashingSessions().get(0).getStartTime());
+        probe.setStartTime(firstStart.plusDays(14).plusMinutes(30));
+        assertFalse(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        probe.setStartTime(firstStart.plusDays(42).plusMinutes(30));
+        assertFalse(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        
+        StudySession biweekly = StudySession.builder()
+                .startTime(firstStart.plusDays(7).plusMinutes(30))
+                .durationMinutes(60)
+                .repeatEveryDays(14)
+                .repeatUntil(firstDay.plusDays(40))
+                .build();
+        assertEquals(3, studySessionService.checkForClashes(testCourse.getId(), biweekly).getClashingSessions().size());
+        
+        LocalDateTime secondStart = firstStart.plusDays(7);
+        assertEquals(List.of(FreeSlot.of(secondStart.minusHours(1), secondStart),
+                        FreeSlot.of(secondStart.plusHours(1), secondStart.plusHours(2))),
+                studySessionService.findFreeSlots(testStudent.getId(),
+                        secondStart.minusHours(1), secondStart.plusHours(2), 15));
+        
+        assertThrows(IllegalArgumentException.class, () -> studySessionService.save(secondWeek.get(0)));
+    }
+
+    @Test
+    @DisplayName("Session lists are read with one select however many courses they span")
+    void testListReads_NoSelectPerCourse() {
+        LocalDateTime baseTime = LocalDate.now().plusDays(1).atTime(9, 0);
+        for (int i = 0; i < 3; i++) {
+            Course course = courseRepository.save(Course.builder()
+                    .title("Course " + i)
+                    .studentProfile(testStudent)
+                    .build());
+            studySessionRepository.save(StudySession.builder()
+                    .course(i == 0 ? testCourse : course)
+                    .startTime(baseTime.plusHours(i))
+                    .durationMinutes(30)
+                    .build());
+            studySessionRepository.save(StudySession.builder()
+                    .course(course)
+                    .startTime(baseTime.plusDays(1).plusHours(i))
+                    .durationMinutes(30)
+                    .build());
+        }
+        QueryCounter queries = new QueryCounter(entityManager);
+        
+        assertOneSelect(queries, "findAll", () -> studySessionService.findAll());
+        assertOneSelect(queries, "findAll(Pageable)",
+                () -> studySessionService.findAll(PageRequest.of(0, 5)).getContent());
+        assertOneSelect(queries, "findByCourseId", () -> studySessionService.findByCourseId(testCourse.getId()));
+        assertOneSelect(queries, "findByCourseId(Pageable)",
+                () -> studySessionService.findByCourseId(testCourse.getId(), PageRequest.of(0, 5)).getContent());
+        List<Long> ids = studySessionService.findAll().stream().map(StudySession::getId).toList();
+        assertOneSelect(queries, "findAllById", () -> studySessionService.findAllById(ids));
+        // One-off sessions and series are read by one select each
+        assertSelects(queries, "findByStudentIdAndDate", 2,
+                () -> studySessionService.findByStudentIdAndDate(testStudent.getId(), baseTime.toLocalDate()));
+        assertSelects(queries, "findByCourseIdAndTimeRange", 2, () -> studySessionService.findByCourseIdAndTimeRange(
+                testCourse.getId(), baseTime.minusDays(1), baseTime.plusDays(2)));
+        
+        // With the interval index warm, the course's student and the clashing sessions of three
+        // courses, together with those courses for the message, are read by one select each
+        StudySession proposal = StudySession.builder()
+                .startTime(baseTime)
+                .durationMinutes(180)
+                .build();
+        studySessionService.checkForClashes(testCourse.getId(), proposal);
+        ClashCheckResult[] clash = new ClashCheckResult[1];
+        long statements = queries.count(() -> clash[0] = studySessionService.checkForClashes(testCourse.getId(), proposal));
+        assertEquals(3, clash[0].getClashingSessions().size());
+        assertTrue(clash[0].getWarningMessage().contains("Course 2"));
+        assertEquals(2, statements, "StudySessionService.checkForClashes");
+    }
+
+    private void assertOneSelect(QueryCounter queries, String read, Supplier<List<StudySession>> sessions) {
+        assertSelects(queries, read, 1, sessions);
+    }
+
+    private void assertSelects(QueryCounter queries, String read, int selects, Supplier<List<StudySession>> sessions) {
+        long statements = queries.count(() -> sessions.get().forEach(session -> session.getCourse().getTitle()));
+        assertEquals(selects, statements, "StudySessionService." + read);
+    }
+
+    @Test
+    @DisplayName("Bulk created sessions are indexed and counted towards the daily load")
+    void testCreateSessions_UpdatesIndexAndDailyLoad() {
+        LocalDate day = LocalDate.now().plusDays(2);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sessions.add(StudySession.builder()
+                    .startTime(day.atTime(8 + 2 * i, 0))
+                    .durationMinutes(25)
+                    .build());
+        }
+        
+        List<StudySession> created = studySessionService.createSessions(testCourse.getId(), sessions);
+        
+        assertEquals(4, created.size());
+        assertTrue(created.stream().allMatch(session -> session.getId() != null));
+        assertEquals(100, studySessionService.checkDailyLoad(testCourse.getId(), day, 0).getCurrentMinutes());
+        StudySession probe = StudySession.builder()
+                .startTime(day.atTime(10, 10))
+                .durationMinutes(10)
+                .build();
+        assertTrue(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        assertThrows(IllegalArgumentException.class,
+                () -> studySessionService.createSessions(testCourse.getId(), List.of(created.get(0))));
+    }
+
+    @Test
+    @DisplayName("Keyset pages by start time cover every session once in order")
+    void testFindByStartTimeAfter_WalksAllSessionsInOrder() {
+        LocalDateTime baseTime = LocalDate.now().plusDays(1).atTime(9, 0);
+        for (int i = 0; i < 7; i++) {
+            studySessionRepository.save(StudySession.builder()
+                    .course(testCourse)
+                    .startTime(baseTime.plusHours(i % 3))
+                    .durationMinutes(30)
+                    .build());
+        }
+        
+        List<StudySessionSummary> walked = new ArrayList<>();
+        List<StudySessionSummary> page = studySessionService.findByStartTimeAfter(testCourse.getId(), null, null, 3);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            StudySessionSummary last = page.get(page.size() - 1);
+            page = studySessionService.findByStartTimeAfter(testCourse.getId(), last.getStartTime(), last.getId(), 3);
+        }
+        
+        List<Long> expected = studySessionService.findByCourseId(testCourse.getId()).stream()
+                .sorted(Comparator.comparing(StudySession::getStartTime).thenComparing(StudySession::getId))
+                .map(StudySession::getId)
+                .toList();
+        assertEquals(7, walked.size());
+        assertEquals(expected, walked.stream().map(StudySessionSummary::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Clash index follows created, moved and deleted sessions")
+    void testClashDetection_IndexFollowsWrites() {
+        LocalDateTime baseTime = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+        StudySession probe = StudySession.builder()
+                .startTime(baseTime)
+                .durationMinutes(60)
+                .build();
+        assertFalse(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        
+        StudySession created = studySessionService.createSession(testCourse.getId(), StudySession.builder()
+                .startTime(baseTime.plusMinutes(30))
+                .durationMinutes(60)
+                .build());
+        assertTrue(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        
+        created.setStartTime(baseTime.plusHours(3));
+        studySessionService.save(created);
+        assertFalse(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        
+        probe.setStartTime(baseTime.plusHours(3));
+        assertTrue(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+        
+        studySessionService.deleteById(created.getId());
+        assertFalse(studySessionService.checkForClashes(testCourse.getId(), probe).isHasClash());
+    }
+
+    @Test
+    @DisplayName("Combined validation reports load and clash together")
+    void testValidateSession_ReportsLoadAndClash() {
+        LocalDateTime baseTime = LocalDate.now().atTime(9, 0);
+        
+        StudySession existingSession = StudySession.builder()
+                .course(testCourse)
+                .startTime(baseTime)
+                .durationMinutes(90)
+                .build();
+        studySessionRepository.save(existingSession);
+        
+        StudySession proposedSession = StudySession.builder()
+                .startTime(baseTime.plusMinutes(60))
+                .durationMinutes(60)
+                .build();
+        
+        SessionValidationResult result = studySessionService.validateSession(testCourse.getId(), proposedSession);
+        
+        assertTrue(result.isHasWarnings());
+        assertEquals(studySessionService.checkDailyLoad(testCourse.getId(), baseTime.toLocalDate(), 60),
+                result.getLoadCheck());
+        assertTrue(result.getLoadCheck().isExceedsLimit());
+        assertTrue(result.getClashCheck().isHasClash());
+        assertEquals(1, result.getClashCheck().getClashingSessions().size());
+        
+        proposedSession.setStartTime(baseTime.plusHours(5));
+        proposedSession.setDurationMinutes(30);
+        assertFalse(studySessionService.validateSession(testCourse.getId(), proposedSession).isHasWarnings());
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> studySessionService.validateSession(-1L, proposedSession));
+    }
+}
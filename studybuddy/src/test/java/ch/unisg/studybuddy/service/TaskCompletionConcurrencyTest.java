@@ -0,0 +1,106 @@
+package ch.unisg.studybuddy.service;
+
+import ch.unisg.studybuddy.model.Course;
+import ch.unisg.studybuddy.model.StudentProfile;
+import ch.unisg.studybuddy.model.Task;
+import ch.unisg.studybuddy.persistence.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Toggles the same task from several threads at once, each in its own transaction, on a database
+ * of their own, and checks that the course counters count the change once.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:taskcompletion;DB_CLOSE_DELAY=-1",
+        "studybuddy.seed-data=false"
+})
+class TaskCompletionConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    private Long courseId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        Long studentId = studentProfileRepository.save(StudentProfile.builder()
+                .name("Concurrent Student")
+                .email("concurrent-" + System.nanoTime() + "@unisg.ch")
+                .build()).getId();
+        courseId = courseService.createCourse(studentId, Course.builder().title("Concurrent Course").build()).getId();
+        taskId = taskService.createTask(courseId, Task.builder().title("Contended").build()).getId();
+    }
+
+    @Test
+    @DisplayName("Concurrent completions of one task count it as completed once")
+    void testMarkAsCompleted_Concurrent_CountedOnce() throws Exception {
+        runConcurrently(() -> taskService.markAsCompleted(taskId));
+
+        assertCounts(1, 1);
+    }
+
+    @Test
+    @DisplayName("Concurrent saves completing one task count it as completed once")
+    void testSave_ConcurrentCompletion_CountedOnce() throws Exception {
+        runConcurrently(() -> {
+            Task task = taskService.findById(taskId).orElseThrow();
+            task.setCompleted(true);
+            taskService.save(task);
+        });
+
+        assertCounts(1, 1);
+    }
+
+    private void runConcurrently(Runnable toggle) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Void>> toggles = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                toggles.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    toggle.run();
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(toggles.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertCounts(long total, long completed) {
+        assertTrue(taskService.findById(taskId).orElseThrow().getCompleted());
+        assertEquals(total, taskService.calculateProgress(courseId).getTotalTasks());
+        assertEquals(completed, taskService.calculateProgress(courseId).getCompletedTasks());
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+    }
+}
@@ -6,16 +6,28 @@ import ch.unisg.studybuddy.model.Task;
 import ch.unisg.studybuddy.persistence.CourseRepository;
 import ch.unisg.studybuddy.persistence.StudentProfileRepository;
 import ch.unisg.studybuddy.persistence.TaskRepository;
+import ch.unisg.studybuddy.service.dto.BulkCompletionResult;
+import ch.unisg.studybuddy.service.dto.CourseSummary;
 import ch.unisg.studybuddy.service.dto.ProgressResult;
+import ch.unisg.studybuddy.service.dto.TaskSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +38,9 @@ class TaskServiceTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private CourseService courseService;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -35,6 +50,9 @@ class TaskServiceTest {
     @Autowired
     private StudentProfileRepository studentProfileRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private StudentProfile testStudent;
     private Course testCourse;
 
@@ -79,7 +97,7 @@ class TaskServiceTest {
                     .completed(true)
                     .estimatedEffortHours(2)
                     .build();
-            taskRepository.save(task);
+            taskService.createTask(testCourse.getId(), task);
         }
         
         ProgressResult result = taskService.calculateProgress(testCourse.getId());
@@ -100,7 +118,7 @@ class TaskServiceTest {
                     .completed(true)
                     .estimatedEffortHours(1)
                     .build();
-            taskRepository.save(task);
+            taskService.createTask(testCourse.getId(), task);
         }
         
         for (int i = 0; i < 2; i++) {
@@ -110,7 +128,7 @@ class TaskServiceTest {
                     .completed(false)
                     .estimatedEffortHours(1)
                     .build();
-            taskRepository.save(task);
+            taskService.createTask(testCourse.getId(), task);
         }
         
         ProgressResult result = taskService.calculateProgress(testCourse.getId());
@@ -131,7 +149,7 @@ class TaskServiceTest {
                     .completed(false)
                     .estimatedEffortHours(1)
                     .build();
-            taskRepository.save(task);
+            taskService.createTask(testCourse.getId(), task);
         }
         
         ProgressResult result = taskService.calculateProgress(testCourse.getId());
@@ -151,7 +169,7 @@ class TaskServiceTest {
                 .completed(true)
                 .estimatedEffortHours(1)
                 .build();
-        taskRepository.save(completed);
+        taskService.createTask(testCourse.getId(), completed);
         
         for (int i = 0; i < 2; i++) {
             Task task = Task.builder()
@@ -160,7 +178,7 @@ class TaskServiceTest {
                     .completed(false)
                     .estimatedEffortHours(1)
                     .build();
-            taskRepository.save(task);
+            taskService.createTask(testCourse.getId(), task);
         }
         
         ProgressResult result = taskService.calculateProgress(testCourse.getId());
@@ -171,6 +189,82 @@ class TaskServiceTest {
         assertTrue(result.getCompletionPercentage() >= 33.0 && result.getCompletionPercentage() <= 34.0);
     }
 
+    @Test
+    @DisplayName("Bulk progress matches per-course progress")
+    void testProgressRollup_ForStudent_MatchesPerCourse() {
+        Course emptyCourse = courseRepository.save(Course.builder()
+                .title("Empty Course")
+                .studentProfile(testStudent)
+                .build());
+        for (int i = 0; i < 4; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .course(testCourse)
+                    .completed(i == 0)
+                    .estimatedEffortHours(1)
+                    .build();
+            taskService.createTask(testCourse.getId(), task);
+        }
+        
+        List<ProgressResult> results = taskService.calculateProgressForStudent(testStudent.getId());
+        
+        assertEquals(2, results.size());
+        assertEquals(taskService.calculateProgress(testCourse.getId()), results.get(0));
+        assertEquals(taskService.calculateProgress(emptyCourse.getId()), results.get(1));
+        assertEquals(25.0, results.get(0).getCompletionPercentage());
+        assertEquals(0, results.get(1).getTotalTasks());
+    }
+
+    @Test
+    @DisplayName("Counters follow complete, incomplete, update and delete")
+    void testTaskCounters_FollowServiceWrites() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        Task first = taskService.createTask(testCourse.getId(), Task.builder()
+                .title("First").estimatedEffortHours(1).build());
+        Task second = taskService.createTask(testCourse.getId(), Task.builder()
+                .title("Second").estimatedEffortHours(1).completed(true).build());
+        
+        taskService.markAsCompleted(first.getId());
+        taskService.markAsCompleted(first.getId());
+        assertEquals(2, taskService.calculateProgress(testCourse.getId()).getCompletedTasks());
+        
+        taskService.markAsIncomplete(second.getId());
+        assertEquals(1, taskService.calculateProgress(testCourse.getId()).getCompletedTasks());
+        
+        first.setCourse(otherCourse);
+        taskService.save(first);
+        ProgressResult moved = taskService.calculateProgress(otherCourse.getId());
+        assertEquals(1, moved.getTotalTasks());
+        assertEquals(1, moved.getCompletedTasks());
+        
+        taskService.deleteById(second.getId());
+        ProgressResult remaining = taskService.calculateProgress(testCourse.getId());
+        assertEquals(0, remaining.getTotalTasks());
+        assertEquals(0, remaining.getCompletedTasks());
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reconciliation repairs counters after direct inserts")
+    void testTaskCounters_ReconcileRepairsDrift() {
+        taskRepository.save(Task.builder()
+                .title("Direct Insert")
+                .course(testCourse)
+                .completed(true)
+                .estimatedEffortHours(1)
+                .build());
+        
+        assertEquals(List.of(testCourse.getId()), taskService.findCoursesWithInconsistentTaskCounts());
+        
+        taskService.reconcileTaskCounts();
+        
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+        assertEquals(100.0, taskService.calculateProgress(testCourse.getId()).getCompletionPercentage());
+    }
+
     @Test
     @DisplayName("Overdue tasks have highest priority")
     void testTaskPrioritization_OverdueTasks_HighestPriority() {
@@ -309,6 +403,323 @@ class TaskServiceTest {
         assertEquals("With Due Date", prioritized.get(0).getTitle());
     }
 
+    @Test
+    @DisplayName("Top-K returns only the highest priority pending tasks")
+    void testTopTasksByPriority_ReturnsHighestFirst() {
+        for (int i = 0; i < 10; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .course(testCourse)
+                    .dueDate(LocalDate.now().plusDays(i))
+                    .estimatedEffortHours(1)
+                    .completed(false)
+                    .build();
+            taskRepository.save(task);
+        }
+        Task completed = Task.builder()
+                .title("Completed Task")
+                .course(testCourse)
+                .dueDate(LocalDate.now().minusDays(5))
+                .estimatedEffortHours(10)
+                .completed(true)
+                .build();
+        taskRepository.save(completed);
+        
+        List<Task> top = taskService.getTopTasksByPriority(testCourse.getId(), 3, 0);
+        
+        assertEquals(3, top.size());
+        assertEquals("Task 0", top.get(0).getTitle());
+        assertEquals("Task 1", top.get(1).getTitle());
+        assertEquals("Task 2", top.get(2).getTitle());
+    }
+
+    @Test
+    @DisplayName("Top-K with offset matches the full priority ordering")
+    void testTopTasksByPriority_OffsetMatchesFullOrdering() {
+        for (int i = 0; i < 8; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .course(testCourse)
+                    .dueDate(i % 2 == 0 ? LocalDate.now().plusDays(i * 3) : null)
+                    .estimatedEffortHours(1 + i)
+                    .completed(false)
+                    .build();
+            taskRepository.save(task);
+        }
+        
+        List<Task> full = taskService.getTasksByPriority(testCourse.getId());
+        List<Task> page = taskService.getTopTasksByPriority(testCourse.getId(), 3, 2);
+        
+        assertEquals(3, page.size());
+        assertEquals(full.subList(2, 5).stream().map(Task::getId).toList(),
+                page.stream().map(Task::getId).toList());
+        assertTrue(taskService.getTopTasksByPriority(testCourse.getId(), 5, 8).isEmpty());
+        assertEquals(full.subList(2, 5).stream().map(Task::getId).toList(),
+                taskService.getTopTaskSummariesByPriority(testCourse.getId(), 3, 2).stream()
+                        .map(TaskSummary::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Keyset pages by due date cover every task once in order")
+    void testFindByDueDateAfter_WalksAllTasksInOrder() {
+        for (int i = 0; i < 7; i++) {
+            taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .course(testCourse)
+                    .dueDate(i % 3 == 0 ? null : LocalDate.now().plusDays(i % 2))
+                    .build());
+        }
+        
+        List<TaskSummary> walked = new ArrayList<>();
+        List<TaskSummary> page = taskService.findByDueDateAfter(testCourse.getId(), null, null, 3);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TaskSummary last = page.get(page.size() - 1);
+            page = taskService.findByDueDateAfter(testCourse.getId(), last.getDueDate(), last.getId(), 3);
+        }
+        
+        List<Long> expected = taskService.findByCourseId(testCourse.getId()).stream()
+                .sorted(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+        assertEquals(expected, walked.stream().map(TaskSummary::getId).toList());
+        
+        Slice<Task> firstSlice = taskService.findByCourseId(testCourse.getId(), PageRequest.of(0, 5));
+        assertEquals(5, firstSlice.getNumberOfElements());
+        assertTrue(firstSlice.hasNext());
+        assertFalse(taskService.findByCourseId(testCourse.getId(), PageRequest.of(1, 5)).hasNext());
+    }
+
+    @Test
+    @DisplayName("Summaries are read without loading any entity")
+    void testSummaries_ReadWithoutLoadingEntities() {
+        taskService.createTask(testCourse.getId(), Task.builder()
+                .title("B Task").dueDate(LocalDate.now().plusDays(2)).estimatedEffortHours(2).build());
+        Task done = taskService.createTask(testCourse.getId(), Task.builder()
+                .title("A Task").dueDate(LocalDate.now().plusDays(1)).build());
+        taskService.markAsCompleted(done.getId());
+        entityManager.flush();
+        entityManager.clear();
+        
+        Slice<TaskSummary> tasks = taskService.findSummaries(testCourse.getId(), PageRequest.of(0, 5, Sort.by("title")));
+        CourseSummary course = courseService.findSummaryById(testCourse.getId()).orElseThrow();
+        Slice<TaskSummary> pending = taskService.getTaskSummariesByPriority(testCourse.getId(), PageRequest.of(0, 5));
+        
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(List.of("A Task", "B Task"), tasks.map(TaskSummary::getTitle).toList());
+        assertEquals(testCourse.getId(), tasks.getContent().get(0).getCourseId());
+        assertFalse(tasks.hasNext());
+        assertEquals(testStudent.getId(), course.getStudentId());
+        assertEquals(2L, course.getTaskCount());
+        assertEquals(1L, course.getCompletedTaskCount());
+        assertEquals(List.of("B Task"), pending.map(TaskSummary::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Task and course lists are read with one select however many courses they span")
+    void testListReads_NoSelectPerCourse() {
+        for (int i = 0; i < 3; i++) {
+            Course course = courseRepository.save(Course.builder()
+                    .title("Course " + i)
+                    .studentProfile(testStudent)
+                    .build());
+            taskRepository.save(Task.builder().title("Task " + i).dueDate(LocalDate.now().minusDays(i)).course(course).build());
+            taskRepository.save(Task.builder().title("Other Task " + i).course(course).build());
+        }
+        QueryCounter queries = new QueryCounter(entityManager);
+        
+        assertOneSelect(queries, "TaskService.findAll", () -> taskService.findAll());
+        assertOneSelect(queries, "TaskService.findAll(Pageable)", () -> taskService.findAll(PageRequest.of(0, 5)).getContent());
+        assertOneSelect(queries, "TaskService.findByCourseId", () -> taskService.findByCourseId(testCourse.getId()));
+        assertOneSelect(queries, "TaskService.findByCourseId(Pageable)",
+                () -> taskService.findByCourseId(testCourse.getId(), PageRequest.of(0, 5)).getContent());
+        assertOneSelect(queries, "TaskService.getTasksByPriority", () -> taskService.getTasksByPriority(null));
+        assertOneSelect(queries, "TaskService.getTopTasksByPriority", () -> taskService.getTopTasksByPriority(null, 5, 0));
+        assertOneSelect(queries, "TaskService.getPendingTasksByStudentPrioritized",
+                () -> taskService.getPendingTasksByStudentPrioritized(testStudent.getId()));
+        assertOneSelect(queries, "TaskRepository.findPendingTasksByStudentId",
+                () -> taskRepository.findPendingTasksByStudentId(testStudent.getId()));
+        assertOneSelect(queries, "TaskRepository.findOverdueTasks",
+                () -> taskRepository.findOverdueTasks(LocalDate.now()));
+        assertOneSelect(queries, "TaskRepository.findByCourseIdOrderByDueDate",
+                () -> taskRepository.findByCourseIdOrderByDueDate(testCourse.getId()));
+        
+        assertEquals(1, queries.count(() -> courseService.findAll()
+                .forEach(course -> course.getCoursePreference())), "CourseService.findAll");
+        assertEquals(1, queries.count(() -> courseService.findByStudentProfileId(testStudent.getId())
+                .forEach(course -> course.getCourseNote())), "CourseService.findByStudentProfileId");
+    }
+
+    private void assertOneSelect(QueryCounter queries, String read, Supplier<List<Task>> tasks) {
+        long statements = queries.count(() -> tasks.get().forEach(task -> task.getCourse().getTitle()));
+        assertEquals(1, statements, read);
+    }
+
+    @Test
+    @DisplayName("Bulk created tasks are inserted in batches and counted once")
+    void testCreateTasks_BatchesInsertsAndAdjustsCounters() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tasks.add(Task.builder().title("Imported " + i).completed(i % 4 == 0).build());
+        }
+        QueryCounter queries = new QueryCounter(entityManager);
+        
+        List<Task> created = new ArrayList<>();
+        long statements = queries.count(() -> created.addAll(taskService.createTasks(testCourse.getId(), tasks)));
+        
+        assertEquals(120, created.size());
+        assertTrue(created.stream().allMatch(task -> task.getId() != null));
+        assertTrue(statements < 20, "statements: " + statements);
+        ProgressResult progress = taskService.calculateProgress(testCourse.getId());
+        assertEquals(120, progress.getTotalTasks());
+        assertEquals(30, progress.getCompletedTasks());
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.createTasks(testCourse.getId(), List.of(created.get(0))));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.createTasks(999999L, List.of(Task.builder().title("Orphan").build())));
+    }
+
+    @Test
+    @DisplayName("Bulk completion by ID changes pending tasks in one update and recounts the course")
+    void testBulkCompletion_ByIds_UpdatesOnceAndKeepsCounters() {
+        List<Task> created = taskService.createTasks(testCourse.getId(), List.of(
+                Task.builder().title("Open 1").completed(false).build(),
+                Task.builder().title("Open 2").completed(false).build(),
+                Task.builder().title("Done").completed(true).build(),
+                Task.builder().title("Untouched").completed(false).build()));
+        List<Long> ids = created.subList(0, 3).stream().map(Task::getId).toList();
+        QueryCounter queries = new QueryCounter(entityManager);
+        
+        BulkCompletionResult[] result = new BulkCompletionResult[1];
+        long statements = queries.count(() -> result[0] = taskService.setCompleted(ids, true));
+        
+        assertEquals(2, result[0].getUpdatedTasks());
+        assertEquals(List.of(testCourse.getId()), result[0].getAffectedCourseIds());
+        assertEquals(3, statements);
+        assertEquals(3, taskService.calculateProgress(testCourse.getId()).getCompletedTasks());
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+        
+        BulkCompletionResult repeated = taskService.setCompleted(ids, true);
+        assertEquals(0, repeated.getUpdatedTasks());
+        assertTrue(repeated.getAffectedCourseIds().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskService.setCompleted(List.of(), true));
+    }
+
+    @Test
+    @DisplayName("Bulk completion by filter only changes tasks of the course due before the date")
+    void testBulkCompletion_ByFilter_MatchesCourseAndDueDate() {
+        Course otherCourse = courseRepository.save(Course.builder()
+                .title("Other Course")
+                .studentProfile(testStudent)
+                .build());
+        LocalDate cutoff = LocalDate.now().plusDays(7);
+        taskService.createTasks(testCourse.getId(), List.of(
+                Task.builder().title("Due soon").dueDate(cutoff.minusDays(1)).completed(false).build(),
+                Task.builder().title("Due later").dueDate(cutoff.plusDays(1)).completed(false).build(),
+                Task.builder().title("No due date").completed(false).build()));
+        taskService.createTask(otherCourse.getId(),
+                Task.builder().title("Other course").dueDate(cutoff.minusDays(1)).completed(false).build());
+        
+        BulkCompletionResult result = taskService.setCompleted(testCourse.getId(), cutoff, true);
+        
+        assertEquals(1, result.getUpdatedTasks());
+        assertEquals(1, taskService.calculateProgress(testCourse.getId()).getCompletedTasks());
+        assertEquals(0, taskService.calculateProgress(otherCourse.getId()).getCompletedTasks());
+        
+        BulkCompletionResult reopened = taskService.setCompleted(testCourse.getId(), null, false);
+        assertEquals(1, reopened.getUpdatedTasks());
+        assertEquals(0, taskService.calculateProgress(testCourse.getId()).getCompletedTasks());
+        assertTrue(taskService.findCoursesWithInconsistentTaskCounts().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskService.setCompleted(null, null, true));
+    }
+
+    @Test
+    @DisplayName("Filtered task pages are filtered and sorted in the database")
+    void testFindTasks_FiltersAndPagesInDatabase() {
+        taskService.createTasks(testCourse.getId(), List.of(
+                Task.builder().title("C").dueDate(LocalDate.now().plusDays(3)).completed(false).build(),
+                Task.builder().title("A").dueDate(LocalDate.now().plusDays(1)).completed(false).build(),
+                Task.builder().title("B").dueDate(LocalDate.now().plusDays(2)).completed(true).build()));
+        Pageable firstPage = PageRequest.of(0, 1, Sort.by("dueDate").and(Sort.by("id")));
+        
+        Slice<Task> pending = taskService.findTasks(testCourse.getId(), false, firstPage);
+        assertEquals(List.of("A"), pending.map(Task::getTitle).getContent());
+        assertTrue(pending.hasNext());
+        assertEquals(List.of("C"), taskService.findTasks(testCourse.getId(), false, pending.nextPageable())
+                .map(Task::getTitle).getContent());
+        
+        Slice<Task> all = taskService.findTasks(testCourse.getId(), true, PageRequest.of(0, 10, Sort.by("title")));
+        assertEquals(List.of("A", "B", "C"), all.map(Task::getTitle).getContent());
+        assertTrue(taskService.findTasks(null, false, PageRequest.of(0, 50)).stream()
+                .noneMatch(Task::getCompleted));
+    }
+
+    @Test
+    @DisplayName("Pending and completed tasks are counted in the database")
+    void testCountByCompleted_CountsBothStates() {
+        long pendingBefore = taskService.countByCompleted(false);
+        long completedBefore = taskService.countByCompleted(true);
+        taskService.createTasks(testCourse.getId(), List.of(
+                Task.builder().title("Pending").completed(false).build(),
+                Task.builder().title("Done 1").completed(true).build(),
+                Task.builder().title("Done 2").completed(true).build()));
+        
+        assertEquals(pendingBefore + 1, taskService.countByCompleted(false));
+        assertEquals(completedBefore + 2, taskService.countByCompleted(true));
+    }
+
+    @Test
+    @DisplayName("Stored priority score is kept current on save")
+    void testPriorityScore_PersistedOnSave() {
+        Task task = Task.builder()
+                .title("Stored Score Task")
+                .course(testCourse)
+                .dueDate(LocalDate.now().plusDays(10))
+                .estimatedEffortHours(5)
+                .completed(false)
+                .build();
+        task = taskRepository.save(task);
+        taskRepository.flush();
+        assertEquals(100.0, task.getPriorityScore());
+        
+        task.setDueDate(LocalDate.now());
+        task = taskService.save(task);
+        taskRepository.flush();
+        assertEquals(110.0, task.getPriorityScore());
+    }
+
+    @Test
+    @DisplayName("Bulk refresh matches the in-memory priority score")
+    void testRefreshPriorityScores_MatchesCalculatedScore() {
+        LocalDate[] dueDates = {
+                LocalDate.now().minusDays(3), LocalDate.now(), LocalDate.now().plusDays(40),
+                LocalDate.now().plusDays(100), LocalDate.now().plusDays(150), null
+        };
+        for (int i = 0; i < dueDates.length; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .course(testCourse)
+                    .dueDate(dueDates[i])
+                    .estimatedEffortHours(i + 1)
+                    .completed(false)
+                    .build();
+            taskRepository.save(task);
+        }
+        taskRepository.flush();
+        entityManager.createQuery("UPDATE Task t SET t.priorityScore = -1").executeUpdate();
+        
+        int updated = taskService.refreshPriorityScores();
+        
+        assertTrue(updated >= dueDates.length);
+        for (Task task : taskRepository.findByCourseId(testCourse.getId())) {
+            assertEquals(task.calculatePriorityScore(), task.getPriorityScore(), 0.001);
+        }
+        assertEquals(0, taskService.refreshPriorityScores());
+    }
+
     @Test
     @DisplayName("Priority score calculation is correct")
     void testTaskPrioritization_PriorityScoreCalculation() {
@@ -0,0 +1,4 @@
+CREATE TABLE notes (
+    id BIGINT NOT NULL PRIMARY KEY,
+    text VARCHAR(200)
+);
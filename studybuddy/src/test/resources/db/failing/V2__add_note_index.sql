@@ -0,0 +1,3 @@
+ALTER TABLE notes ADD COLUMN created_on TIMESTAMP;
+
+CREATE INDEX idx_notes_missing ON notes (missing_column);